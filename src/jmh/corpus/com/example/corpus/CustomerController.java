@@ -0,0 +1,30 @@
+package com.example.corpus;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customers")
+public class CustomerController {
+
+    private final CustomerService service;
+
+    public CustomerController(CustomerService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{email}")
+    public Customer find(@PathVariable("email") String email) {
+        return service.find(email);
+    }
+
+    @RequestMapping("/active")
+    public List<Customer> active(@RequestParam("name") String name) {
+        return service.activeNamed(name);
+    }
+}
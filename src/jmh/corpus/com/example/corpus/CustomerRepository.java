@@ -0,0 +1,16 @@
+package com.example.corpus;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    Customer findByName(String name);
+
+    Customer findFirstByEmailAndActive(String email, Boolean active);
+
+    List<Customer> findAllByActive(Boolean active);
+}
@@ -0,0 +1,35 @@
+package com.example.corpus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CustomerService {
+
+    private final CustomerRepository repository;
+
+    public CustomerService(CustomerRepository repository) {
+        if (repository == null) {
+            throw new IllegalArgumentException("repository");
+        }
+        this.repository = repository;
+    }
+
+    public Customer find(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("email");
+        }
+        return repository.findFirstByEmailAndActive(email, true);
+    }
+
+    public List<Customer> activeNamed(String name) {
+        List<Customer> result = new ArrayList<>();
+        for (Customer customer : repository.findAllByActive(true)) {
+            if (name.equals(customer.getName()) && customer.getEmail() != null && !customer.getEmail().isEmpty()) {
+                result.add(customer);
+            } else if (customer.getId() < 0) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.corpus;
+
+public class EagerSingleton {
+
+    private static final EagerSingleton INSTANCE = new EagerSingleton();
+
+    private EagerSingleton() {
+    }
+
+    public static EagerSingleton getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.corpus;
+
+public class LazySingleton {
+
+    private static LazySingleton instance;
+
+    private LazySingleton() {
+    }
+
+    public static synchronized LazySingleton getInstance() {
+        if (instance == null) {
+            instance = new LazySingleton();
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.corpus;
+
+public class StaticBlockSingleton {
+
+    private static final StaticBlockSingleton INSTANCE;
+
+    static {
+        INSTANCE = new StaticBlockSingleton();
+    }
+
+    private StaticBlockSingleton() {
+    }
+
+    public static StaticBlockSingleton getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.aurea.testgenerator.benchmarks;
+
+import com.aurea.testgenerator.Main;
+import org.springframework.boot.Banner;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.groovy.template.GroovyTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.info.ProjectInfoAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jmx.JmxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.WebClientAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The application context of {@link Main} without its runner. Generator profiles exclude each other, so there is a
+ * context per profile.
+ */
+@Configuration
+@EnableAutoConfiguration(
+        exclude = {
+                JmxAutoConfiguration.class,
+                GroovyTemplateAutoConfiguration.class,
+                JacksonAutoConfiguration.class,
+                ProjectInfoAutoConfiguration.class,
+                WebClientAutoConfiguration.class
+        }
+)
+@ComponentScan(
+        basePackageClasses = Main.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = Main.class)
+)
+public class BenchmarkContext {
+
+    /**
+     * Source root of the corpus, the {@code corpus} system property set by the jmh task.
+     */
+    static Path corpus() {
+        return Paths.get(System.getProperty("corpus", "src/jmh/corpus")).toAbsolutePath();
+    }
+
+    static ConfigurableApplicationContext start(String profile, Path src, Path out) {
+        return new SpringApplicationBuilder(BenchmarkContext.class)
+                .bannerMode(Banner.Mode.OFF)
+                .web(false)
+                .profiles(profile)
+                .properties(
+                        "project.src=" + src,
+                        "project.testSrc=" + out,
+                        "project.out=" + out,
+                        "project.profileTop=0",
+                        "logging.level.root=ERROR")
+                .run();
+    }
+}
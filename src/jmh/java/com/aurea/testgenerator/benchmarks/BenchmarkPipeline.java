@@ -0,0 +1,59 @@
+package com.aurea.testgenerator.benchmarks;
+
+import com.aurea.testgenerator.generation.UnitTestGenerator;
+import com.aurea.testgenerator.source.Unit;
+import com.aurea.testgenerator.source.UnitSource;
+import com.aurea.testgenerator.source.UnitTestWriter;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Pipeline components of one generator profile over the corpus.
+ */
+class BenchmarkPipeline implements AutoCloseable {
+
+    final ConfigurableApplicationContext context;
+    final UnitSource source;
+    final UnitTestGenerator unitTestGenerator;
+    final UnitTestWriter unitTestWriter;
+    final List<Path> paths;
+
+    BenchmarkPipeline(String profile) throws IOException {
+        Path corpus = BenchmarkContext.corpus();
+        context = BenchmarkContext.start(profile, corpus, Files.createTempDirectory("general-patterns-jmh"));
+        source = context.getBean(UnitSource.class);
+        unitTestGenerator = context.getBean(UnitTestGenerator.class);
+        unitTestWriter = context.getBean(UnitTestWriter.class);
+        paths = source.paths(path -> true).toList();
+        if (paths.isEmpty()) {
+            throw new IllegalStateException("No sources in " + corpus);
+        }
+    }
+
+    /**
+     * Newly parsed units: resolution and generation keep their results on the AST, reused units would measure the
+     * caches.
+     */
+    List<Unit> parse() {
+        return source.units(path -> true).toList();
+    }
+
+    List<Unit> generate() {
+        return parse().stream()
+                .map(unitTestGenerator::tryGenerateTest)
+                .filter(Optional::isPresent)
+                .map(test -> test.get().getTest())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,79 @@
+package com.aurea.testgenerator.benchmarks;
+
+import com.aurea.testgenerator.generation.TestGenerator;
+import com.aurea.testgenerator.source.Unit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each generator of generation/patterns on its own over the whole corpus, in the context of its profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GeneratorBenchmark {
+
+    private static final String PATTERNS = "com.aurea.testgenerator.generation.patterns.";
+
+    @Param({
+            "nullchecking.NullCheckingTestGenerator",
+            "pojos.OpenPojoTestGenerator",
+            "singleton.EagerSingletonTestGenerator",
+            "singleton.LazySingletonTestGenerator",
+            "singleton.StaticBlockSingletonTestGenerator",
+            "springcontrollers.SpringControllerDelegatingMethodTestGenerator",
+            "springrepository.SpringRepositoryTestGenerator",
+            "staticfactory.AssignmentCheckStaticFactoryMethodTestGenerator",
+            "staticfactory.DifferentInstancesStaticFactoryMethodTestGenerator"
+    })
+    public String generator;
+
+    private BenchmarkPipeline pipeline;
+    private TestGenerator testGenerator;
+    private List<Unit> units;
+
+    @Setup
+    public void start() throws Exception {
+        Class<? extends TestGenerator> type = Class.forName(PATTERNS + generator).asSubclass(TestGenerator.class);
+        Profile profile = AnnotationUtils.findAnnotation(type, Profile.class);
+        pipeline = new BenchmarkPipeline(profile.value()[0]);
+        testGenerator = pipeline.context.getBean(type);
+    }
+
+    @Setup(Level.Invocation)
+    public void parseFresh() {
+        units = pipeline.parse();
+    }
+
+    @TearDown
+    public void close() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) {
+        for (Unit unit : units) {
+            blackhole.consume(testGenerator.generate(unit));
+        }
+    }
+}
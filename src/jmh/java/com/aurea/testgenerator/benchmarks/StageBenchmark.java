@@ -0,0 +1,100 @@
+package com.aurea.testgenerator.benchmarks;
+
+import com.aurea.testgenerator.source.Unit;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every pipeline stage over the whole corpus: parsing, symbol resolution, generation and writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StageBenchmark {
+
+    @Param({"manual", "null-checking", "open-pojo"})
+    public String profile;
+
+    private BenchmarkPipeline pipeline;
+    private List<Unit> tests;
+    private List<Unit> units;
+
+    @Setup
+    public void start() throws IOException {
+        pipeline = new BenchmarkPipeline(profile);
+        tests = pipeline.generate();
+    }
+
+    @Setup(Level.Invocation)
+    public void parseFresh() {
+        units = pipeline.parse();
+    }
+
+    @TearDown
+    public void close() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (Path path : pipeline.paths) {
+            blackhole.consume(pipeline.source.unit(path));
+        }
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        for (Unit unit : units) {
+            for (ClassOrInterfaceType type : unit.getCu().findAll(ClassOrInterfaceType.class)) {
+                try {
+                    blackhole.consume(type.resolve());
+                } catch (RuntimeException unsolved) {
+                    blackhole.consume(unsolved);
+                }
+            }
+            for (MethodCallExpr call : unit.getCu().findAll(MethodCallExpr.class)) {
+                try {
+                    blackhole.consume(call.resolveInvokedMethod());
+                } catch (RuntimeException unsolved) {
+                    blackhole.consume(unsolved);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) {
+        for (Unit unit : units) {
+            blackhole.consume(pipeline.unitTestGenerator.tryGenerateTest(unit));
+        }
+    }
+
+    @Benchmark
+    public void write() {
+        for (Unit test : tests) {
+            pipeline.unitTestWriter.write(test);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.aurea.testgenerator.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a reproducible source tree of the patterns the generators cover, to measure the pipeline at any scale:
+ * <pre>
+ * units=10000 out=build/corpus/10k [seed=1] [perPackage=100] [fields=6] [methods=5]
+ *     [mix=pojo:4,eager:1,lazy:1,staticBlock:1,factory:2,controller:1,repository:1,nullChecked:3]
+ * </pre>
+ * Every package starts with an entity POJO which its repositories persist, controllers delegate to a null checked
+ * service of their package. The same arguments always write the same sources.
+ */
+public class SyntheticCorpus {
+
+    enum Kind {
+        POJO("pojo", 4),
+        EAGER_SINGLETON("eager", 1),
+        LAZY_SINGLETON("lazy", 1),
+        STATIC_BLOCK_SINGLETON("staticBlock", 1),
+        STATIC_FACTORY("factory", 2),
+        CONTROLLER("controller", 1),
+        REPOSITORY("repository", 1),
+        NULL_CHECKED("nullChecked", 3);
+
+        final String key;
+        final int defaultWeight;
+
+        Kind(String key, int defaultWeight) {
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final String BASE_PACKAGE = "com.example.synthetic";
+    private static final String[][] FIELD_TYPES = {
+            {"String", null}, {"int", null}, {"long", null}, {"boolean", null},
+            {"BigDecimal", "java.math.BigDecimal"}, {"List<String>", "java.util.List"}
+    };
+
+    private final Path out;
+    private final int units;
+    private final int perPackage;
+    private final int fields;
+    private final int methods;
+    private final Map<Kind, Integer> mix;
+    private final Random random;
+    private final Map<Kind, Integer> written = new EnumMap<>(Kind.class);
+
+    private String packageName;
+    private Path packageDir;
+    private String entity;
+    private List<String[]> entityFields;
+    private String service;
+
+    SyntheticCorpus(Path out, int units, int perPackage, int fields, int methods, Map<Kind, Integer> mix, long seed) {
+        this.out = out;
+        this.units = units;
+        this.perPackage = Math.max(2, perPackage);
+        this.fields = Math.max(1, fields);
+        this.methods = Math.max(1, methods);
+        this.mix = mix;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        SyntheticCorpus corpus = new SyntheticCorpus(
+                Paths.get(options.getOrDefault("out", "build/corpus")),
+                Integer.parseInt(options.getOrDefault("units", "1000")),
+                Integer.parseInt(options.getOrDefault("perPackage", "100")),
+                Integer.parseInt(options.getOrDefault("fields", "6")),
+                Integer.parseInt(options.getOrDefault("methods", "5")),
+                mix(options.get("mix")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+        corpus.write();
+        System.out.println("Wrote " + corpus.written + " to " + corpus.out.toAbsolutePath());
+    }
+
+    static Map<Kind, Integer> mix(String spec) {
+        Map<Kind, Integer> mix = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            mix.put(kind, spec == null ? kind.defaultWeight : 0);
+        }
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                String[] keyAndWeight = entry.trim().split(":");
+                mix.put(kind(keyAndWeight[0]), Integer.parseInt(keyAndWeight[1]));
+            }
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix without any units: " + spec);
+        }
+        return mix;
+    }
+
+    private static Kind kind(String key) {
+        for (Kind kind : Kind.values()) {
+            if (kind.key.equals(key)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown kind " + key);
+    }
+
+    void write() throws IOException {
+        for (int unit = 0; unit < units; unit++) {
+            if (unit % perPackage == 0) {
+                startPackage(unit / perPackage);
+                continue;
+            }
+            Kind kind = draw();
+            String name = className(kind, unit);
+            switch (kind) {
+                case POJO:
+                    write(name, pojo(name, randomFields()));
+                    break;
+                case EAGER_SINGLETON:
+                    write(name, eagerSingleton(name));
+                    break;
+                case LAZY_SINGLETON:
+                    write(name, lazySingleton(name));
+                    break;
+                case STATIC_BLOCK_SINGLETON:
+                    write(name, staticBlockSingleton(name));
+                    break;
+                case STATIC_FACTORY:
+                    write(name, staticFactory(name, randomFields()));
+                    break;
+                case CONTROLLER:
+                    write(name, controller(name));
+                    break;
+                case REPOSITORY:
+                    write(name, repository(name));
+                    break;
+                case NULL_CHECKED:
+                    write(name, nullChecked(name));
+                    service = name;
+                    break;
+            }
+            written.merge(kind, 1, Integer::sum);
+        }
+    }
+
+    private void startPackage(int index) throws IOException {
+        packageName = String.format("%s.p%04d", BASE_PACKAGE, index);
+        packageDir = out.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDir);
+        entity = String.format("Entity%04d", index);
+        entityFields = randomFields();
+        service = null;
+        write(entity, pojo(entity, entityFields));
+        written.merge(Kind.POJO, 1, Integer::sum);
+    }
+
+    private Kind draw() {
+        int total = 0;
+        for (Map.Entry<Kind, Integer> weight : mix.entrySet()) {
+            if (available(weight.getKey())) {
+                total += weight.getValue();
+            }
+        }
+        int pick = random.nextInt(Math.max(1, total));
+        for (Map.Entry<Kind, Integer> weight : mix.entrySet()) {
+            if (available(weight.getKey())) {
+                pick -= weight.getValue();
+                if (pick < 0) {
+                    return weight.getKey();
+                }
+            }
+        }
+        return Kind.POJO;
+    }
+
+    /**
+     * Controllers need a service of their package to delegate to.
+     */
+    private boolean available(Kind kind) {
+        return kind != Kind.CONTROLLER || service != null;
+    }
+
+    private static String className(Kind kind, int unit) {
+        String prefix;
+        switch (kind) {
+            case POJO:
+                prefix = "Pojo";
+                break;
+            case EAGER_SINGLETON:
+            case LAZY_SINGLETON:
+            case STATIC_BLOCK_SINGLETON:
+                prefix = "Registry";
+                break;
+            case STATIC_FACTORY:
+                prefix = "Value";
+                break;
+            case CONTROLLER:
+                prefix = "Controller";
+                break;
+            case REPOSITORY:
+                prefix = "Repository";
+                break;
+            default:
+                prefix = "Service";
+        }
+        return String.format("%s%06d", prefix, unit);
+    }
+
+    private List<String[]> randomFields() {
+        List<String[]> result = new ArrayList<>();
+        for (int i = 0; i < fields; i++) {
+            String[] type = FIELD_TYPES[random.nextInt(FIELD_TYPES.length)];
+            result.add(new String[]{type[0], "field" + i, type[1]});
+        }
+        return result;
+    }
+
+    private void write(String name, CharSequence body) throws IOException {
+        Files.write(packageDir.resolve(name + ".java"), body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private StringBuilder header(List<String> imports) {
+        StringBuilder code = new StringBuilder("package ").append(packageName).append(";\n\n");
+        imports.stream().distinct().sorted().forEach(i -> code.append("import ").append(i).append(";\n"));
+        if (!imports.isEmpty()) {
+            code.append('\n');
+        }
+        return code;
+    }
+
+    private static List<String> imports(List<String[]> fields) {
+        List<String> imports = new ArrayList<>();
+        for (String[] field : fields) {
+            if (field[2] != null) {
+                imports.add(field[2]);
+            }
+        }
+        return imports;
+    }
+
+    private StringBuilder pojo(String name, List<String[]> fields) {
+        StringBuilder code = header(imports(fields)).append("public class ").append(name).append(" {\n\n");
+        for (String[] field : fields) {
+            code.append("    private ").append(field[0]).append(' ').append(field[1]).append(";\n");
+        }
+        for (String[] field : fields) {
+            String property = capitalize(field[1]);
+            code.append("\n    public ").append(field[0]).append(field[0].equals("boolean") ? " is" : " get").append(property)
+                .append("() {\n        return ").append(field[1]).append(";\n    }\n")
+                .append("\n    public void set").append(property).append('(').append(field[0]).append(' ').append(field[1])
+                .append(") {\n        this.").append(field[1]).append(" = ").append(field[1]).append(";\n    }\n");
+        }
+        return code.append("}\n");
+    }
+
+    private StringBuilder eagerSingleton(String name) {
+        return header(new ArrayList<>()).append("public class ").append(name).append(" {\n\n")
+                .append("    private static final ").append(name).append(" INSTANCE = new ").append(name).append("();\n\n")
+                .append("    private ").append(name).append("() {\n    }\n\n")
+                .append("    public static ").append(name).append(" getInstance() {\n        return INSTANCE;\n    }\n")
+                .append(counter())
+                .append("}\n");
+    }
+
+    private StringBuilder lazySingleton(String name) {
+        return header(new ArrayList<>()).append("public class ").append(name).append(" {\n\n")
+                .append("    private static ").append(name).append(" instance;\n\n")
+                .append("    private ").append(name).append("() {\n    }\n\n")
+                .append("    public static synchronized ").append(name).append(" getInstance() {\n")
+                .append("        if (instance == null) {\n            instance = new ").append(name).append("();\n        }\n")
+                .append("        return instance;\n    }\n")
+                .append(counter())
+                .append("}\n");
+    }
+
+    private StringBuilder staticBlockSingleton(String name) {
+        return header(new ArrayList<>()).append("public class ").append(name).append(" {\n\n")
+                .append("    private static final ").append(name).append(" INSTANCE;\n\n")
+                .append("    static {\n        INSTANCE = new ").append(name).append("();\n    }\n\n")
+                .append("    private ").append(name).append("() {\n    }\n\n")
+                .append("    public static ").append(name).append(" getInstance() {\n        return INSTANCE;\n    }\n")
+                .append(counter())
+                .append("}\n");
+    }
+
+    private static String counter() {
+        return "\n    private int count;\n\n    public int next() {\n        return ++count;\n    }\n";
+    }
+
+    private StringBuilder staticFactory(String name, List<String[]> fields) {
+        StringBuilder code = header(imports(fields)).append("public class ").append(name).append(" {\n\n");
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        for (String[] field : fields) {
+            code.append("    private final ").append(field[0]).append(' ').append(field[1]).append(";\n");
+            parameters.append(parameters.length() > 0 ? ", " : "").append(field[0]).append(' ').append(field[1]);
+            arguments.append(arguments.length() > 0 ? ", " : "").append(field[1]);
+        }
+        code.append("\n    private ").append(name).append('(').append(parameters).append(") {\n");
+        for (String[] field : fields) {
+            code.append("        this.").append(field[1]).append(" = ").append(field[1]).append(";\n");
+        }
+        code.append("    }\n\n")
+            .append("    public static ").append(name).append(" of(").append(parameters).append(") {\n")
+            .append("        return new ").append(name).append('(').append(arguments).append(");\n    }\n\n")
+            .append("    public static ").append(name).append(" copyOf(").append(name).append(" other) {\n")
+            .append("        return new ").append(name).append('(');
+        for (int i = 0; i < fields.size(); i++) {
+            code.append(i > 0 ? ", " : "").append("other.").append(fields.get(i)[1]);
+        }
+        code.append(");\n    }\n");
+        for (String[] field : fields) {
+            code.append("\n    public ").append(field[0]).append(" get").append(capitalize(field[1])).append("() {\n")
+                .append("        return ").append(field[1]).append(";\n    }\n");
+        }
+        return code.append("}\n");
+    }
+
+    private StringBuilder nullChecked(String name) {
+        List<String> imports = new ArrayList<>();
+        imports.add("java.util.Objects");
+        StringBuilder code = header(imports).append("public class ").append(name).append(" {\n\n")
+                .append("    private final String prefix;\n\n")
+                .append("    public ").append(name).append("(String prefix) {\n")
+                .append("        this.prefix = Objects.requireNonNull(prefix, \"prefix\");\n    }\n");
+        for (int i = 0; i < methods; i++) {
+            code.append("\n    public String describe").append(i).append("(String name, Integer count) {\n")
+                .append("        Objects.requireNonNull(name, \"name\");\n")
+                .append("        Objects.requireNonNull(count, \"count\");\n")
+                .append("        StringBuilder result = new StringBuilder(prefix);\n")
+                .append("        for (int i = 0; i < count; i++) {\n")
+                .append("            if (i % ").append(i + 2).append(" == 0 && !name.isEmpty()) {\n")
+                .append("                result.append(name);\n")
+                .append("            } else {\n")
+                .append("                result.append(i);\n")
+                .append("            }\n        }\n")
+                .append("        return result.toString();\n    }\n");
+        }
+        return code.append("}\n");
+    }
+
+    private StringBuilder controller(String name) {
+        List<String> imports = new ArrayList<>();
+        imports.add("org.springframework.web.bind.annotation.GetMapping");
+        imports.add("org.springframework.web.bind.annotation.PathVariable");
+        imports.add("org.springframework.web.bind.annotation.RequestMapping");
+        imports.add("org.springframework.web.bind.annotation.RequestParam");
+        imports.add("org.springframework.web.bind.annotation.RestController");
+        StringBuilder code = header(imports)
+                .append("@RestController\n@RequestMapping(\"/").append(name.toLowerCase()).append("\")\n")
+                .append("public class ").append(name).append(" {\n\n")
+                .append("    private final ").append(service).append(" service;\n\n")
+                .append("    public ").append(name).append('(').append(service).append(" service) {\n")
+                .append("        this.service = service;\n    }\n");
+        for (int i = 0; i < methods; i++) {
+            code.append("\n    @GetMapping(\"/describe").append(i).append("/{name}\")\n")
+                .append("    public String describe").append(i)
+                .append("(@PathVariable(\"name\") String name, @RequestParam(\"count\") Integer count) {\n")
+                .append("        return service.describe").append(i).append("(name, count);\n    }\n");
+        }
+        return code.append("}\n");
+    }
+
+    private StringBuilder repository(String name) {
+        List<String> imports = new ArrayList<>(imports(entityFields));
+        imports.add("org.springframework.data.jpa.repository.JpaRepository");
+        imports.add("org.springframework.stereotype.Repository");
+        StringBuilder code = header(imports)
+                .append("@Repository\n")
+                .append("public interface ").append(name).append(" extends JpaRepository<").append(entity)
+                .append(", Long> {\n");
+        for (String[] field : entityFields) {
+            code.append("\n    ").append(entity).append(" findBy").append(capitalize(field[1])).append('(')
+                .append(boxed(field[0])).append(' ').append(field[1]).append(");\n");
+        }
+        return code.append("}\n");
+    }
+
+    private static String boxed(String type) {
+        switch (type) {
+            case "int":
+                return "Integer";
+            case "long":
+                return "Long";
+            case "boolean":
+                return "Boolean";
+            default:
+                return type;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
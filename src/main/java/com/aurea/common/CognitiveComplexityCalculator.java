@@ -0,0 +1,195 @@
+package com.aurea.common;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.InstanceOfExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.stmt.BreakStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ContinueStmt;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.ForeachStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchEntryStmt;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cognitive complexity of a node: flow breaking structures add one plus their nesting level, sequences of mixed
+ * boolean operators and recursive calls add one each.
+ * <p>
+ * A single walk of a compilation unit yields the complexity of every callable in it, {@link #cached(CallableDeclaration)}
+ * keeps these on the unit.
+ */
+public final class CognitiveComplexityCalculator {
+
+    private static final DataKey<Map<CallableDeclaration, Integer>> COMPLEXITY_KEY =
+            new DataKey<Map<CallableDeclaration, Integer>>() {
+            };
+
+    private final Map<CallableDeclaration, Integer> callables;
+    private MethodDeclaration enclosingMethod;
+
+    private CognitiveComplexityCalculator(Map<CallableDeclaration, Integer> callables, MethodDeclaration enclosingMethod) {
+        this.callables = callables;
+        this.enclosingMethod = enclosingMethod;
+    }
+
+    public static int calculate(Node node) {
+        return new CognitiveComplexityCalculator(null, node.getAncestorOfType(MethodDeclaration.class).orElse(null))
+                .complexity(node, 0);
+    }
+
+    /**
+     * Complexity of every callable of the unit, computed in one walk and kept on the unit.
+     */
+    public static Map<CallableDeclaration, Integer> ofUnit(CompilationUnit cu) {
+        synchronized (cu) {
+            if (!cu.containsData(COMPLEXITY_KEY)) {
+                Map<CallableDeclaration, Integer> callables = new IdentityHashMap<>();
+                new CognitiveComplexityCalculator(callables, null).complexity(cu, 0);
+                cu.setData(COMPLEXITY_KEY, Collections.unmodifiableMap(callables));
+            }
+            return cu.getData(COMPLEXITY_KEY);
+        }
+    }
+
+    /**
+     * Same as {@link #calculate(Node)}, answered from the complexities of the enclosing unit.
+     */
+    public static int cached(CallableDeclaration callable) {
+        Optional<CompilationUnit> cu = callable.findCompilationUnit();
+        Integer complexity = cu.isPresent() ? ofUnit(cu.get()).get(callable) : null;
+        return complexity != null ? complexity : calculate(callable);
+    }
+
+    private int complexity(Node node, int nesting) {
+        if (node instanceof BinaryExpr) {
+            return 1 + binaryExpression((BinaryExpr) node, nesting);
+        } else if (node instanceof IfStmt) {
+            return ifStatement((IfStmt) node, nesting, true);
+        } else if (node instanceof ForStmt) {
+            ForStmt forStmt = (ForStmt) node;
+            int compare = forStmt.getCompare().isPresent() ? complexity(forStmt.getCompare().get(), nesting) : 0;
+            return nesting + 1 + compare + complexity(forStmt.getBody(), nesting + 1);
+        } else if (node instanceof ForeachStmt) {
+            return nesting + 1 + complexity(((ForeachStmt) node).getBody(), nesting + 1);
+        } else if (node instanceof WhileStmt) {
+            WhileStmt whileStmt = (WhileStmt) node;
+            return nesting + 1 + complexity(whileStmt.getCondition(), nesting) + complexity(whileStmt.getBody(), nesting + 1);
+        } else if (node instanceof DoStmt) {
+            DoStmt doStmt = (DoStmt) node;
+            return nesting + 1 + complexity(doStmt.getCondition(), nesting) + complexity(doStmt.getBody(), nesting + 1);
+        } else if (node instanceof SwitchStmt) {
+            SwitchStmt switchStmt = (SwitchStmt) node;
+            int score = nesting + 1 + complexity(switchStmt.getSelector(), nesting);
+            for (SwitchEntryStmt entry : switchStmt.getEntries()) {
+                score += complexity(entry, nesting + 1);
+            }
+            return score;
+        } else if (node instanceof CatchClause) {
+            return nesting + 1 + complexity(((CatchClause) node).getBody(), nesting + 1);
+        } else if (node instanceof SynchronizedStmt) {
+            return nesting + 1 + complexity(((SynchronizedStmt) node).getBody(), nesting + 1);
+        } else if (node instanceof LambdaExpr) {
+            return complexity(((LambdaExpr) node).getBody(), nesting + 1);
+        } else if (node instanceof ConditionalExpr) {
+            return 1 + children(node, nesting + 1);
+        } else if (node instanceof BreakStmt) {
+            return ((BreakStmt) node).getLabel().isPresent() ? 1 : 0;
+        } else if (node instanceof ContinueStmt) {
+            return ((ContinueStmt) node).getLabel().isPresent() ? 1 : 0;
+        } else if (node instanceof MethodCallExpr) {
+            return methodCall((MethodCallExpr) node, nesting);
+        } else if (node instanceof CallableDeclaration) {
+            return callable((CallableDeclaration) node, nesting);
+        }
+        return children(node, nesting);
+    }
+
+    private int children(Node node, int nesting) {
+        int score = 0;
+        for (Node child : node.getChildNodes()) {
+            score += complexity(child, nesting);
+        }
+        return score;
+    }
+
+    private int callable(CallableDeclaration callable, int nesting) {
+        MethodDeclaration outer = enclosingMethod;
+        if (callable instanceof MethodDeclaration) {
+            enclosingMethod = (MethodDeclaration) callable;
+        }
+        try {
+            int score = children(callable, nesting);
+            if (callables != null) {
+                callables.put(callable, nesting == 0 ? score : children(callable, 0));
+            }
+            return score;
+        } finally {
+            enclosingMethod = outer;
+        }
+    }
+
+    private int methodCall(MethodCallExpr methodCall, int nesting) {
+        int score = enclosingMethod != null && enclosingMethod.getName().equals(methodCall.getName()) ? 1 : 0;
+        for (Expression argument : methodCall.getArguments()) {
+            score += complexity(argument, nesting);
+        }
+        return score;
+    }
+
+    private int ifStatement(IfStmt stmt, int nesting, boolean incrementNesting) {
+        int score = 1 + (incrementNesting ? nesting : 0) +
+                complexity(stmt.getCondition(), nesting) +
+                complexity(stmt.getThenStmt(), nesting + 1);
+        if (stmt.getElseStmt().isPresent()) {
+            Statement elseStmt = stmt.getElseStmt().get();
+            score += elseStmt instanceof IfStmt ?
+                    ifStatement((IfStmt) elseStmt, nesting, false) :
+                    1 + complexity(elseStmt, nesting);
+        }
+        return score;
+    }
+
+    /**
+     * Operands of a binary expression add one for each change of the operator.
+     */
+    private int binaryExpression(BinaryExpr expr, int nesting) {
+        return operand(expr.getLeft(), nesting, expr.getOperator()) +
+                operand(expr.getRight(), nesting, expr.getOperator());
+    }
+
+    private int operand(Expression expr, int nesting, BinaryExpr.Operator operator) {
+        if (expr instanceof BinaryExpr) {
+            BinaryExpr binaryExpr = (BinaryExpr) expr;
+            return (binaryExpr.getOperator() == operator ? 0 : 1) + binaryExpression(binaryExpr, nesting);
+        } else if (expr instanceof EnclosedExpr) {
+            return operand(((EnclosedExpr) expr).getInner(), nesting, operator);
+        } else if (expr instanceof MethodCallExpr) {
+            return methodCall((MethodCallExpr) expr, nesting);
+        } else if (expr instanceof InstanceOfExpr) {
+            return 1 + operand(((InstanceOfExpr) expr).getExpression(), nesting, operator);
+        } else if (expr instanceof UnaryExpr) {
+            return 1 + operand(((UnaryExpr) expr).getExpression(), nesting, operator);
+        }
+        return 0;
+    }
+}
@@ -1,17 +1,45 @@
 package com.aurea.testgenerator
 
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.coverage.CoverageGuide
+import com.aurea.testgenerator.generation.ComplexityFilter
+import com.aurea.testgenerator.generation.GenerationBudget
 import com.aurea.testgenerator.generation.UnitTestGenerator
+import com.aurea.testgenerator.generation.ast.TestUnit
+import com.aurea.testgenerator.incremental.IncrementalGeneration
 import com.aurea.testgenerator.source.SourceFilter
 import com.aurea.testgenerator.source.Unit
 import com.aurea.testgenerator.source.UnitSource
 import com.aurea.testgenerator.source.UnitTestWriter
+import com.aurea.testgenerator.source.WriteResult
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import groovy.transform.Canonical
 import groovy.util.logging.Log4j2
-import one.util.streamex.StreamEx
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
 
+import java.nio.file.Path
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.Semaphore
+import java.util.concurrent.ThreadFactory
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Predicate
 
+/**
+ * Generation runs on a pool of project.threads workers. At most project.queueCapacity units are in flight between
+ * submission and writing; a single writer thread takes results in submission order and hands them to the
+ * {@link UnitTestWriter} I/O threads, so the output does not depend on the number of threads. Units are submitted
+ * in source path order, or by missed lines with project.coverageFirst.
+ * Units running out of their {@link GenerationBudget} are given up; once the run is out of time the remaining units
+ * are passed to the writer without generation, so everything finished so far is written. Units with methods above
+ * project.slowPathComplexity are put aside and generated in a second pass after all other units. Blank runs
+ * (project.blank) never hand tests to the writer, see {@link com.aurea.testgenerator.reporting.DryRunReport}.
+ */
 @Component
 @Log4j2
 class Pipeline {
@@ -20,33 +48,185 @@ class Pipeline {
     final UnitTestGenerator unitTestGenerator
     final SourceFilter sourceFilter
     final UnitTestWriter unitTestWriter
+    final IncrementalGeneration incrementalGeneration
+    final CoverageGuide coverageGuide
+    final GenerationBudget budget
+    final ComplexityFilter complexityFilter
+    final int threads
+    final int queueCapacity
+    final boolean blank
+
+    Pipeline(UnitSource unitSource,
+             UnitTestGenerator unitTestGenerator,
+             SourceFilter sourceFilter,
+             UnitTestWriter writer,
+             IncrementalGeneration incrementalGeneration,
+             ProjectConfiguration cfg) {
+        this(unitSource, unitTestGenerator, sourceFilter, writer, incrementalGeneration, CoverageGuide.disabled(),
+                GenerationBudget.unlimited(), ComplexityFilter.disabled(), cfg)
+    }
 
     @Autowired
     Pipeline(UnitSource unitSource,
              UnitTestGenerator unitTestGenerator,
              SourceFilter sourceFilter,
-             UnitTestWriter writer) {
+             UnitTestWriter writer,
+             IncrementalGeneration incrementalGeneration,
+             CoverageGuide coverageGuide,
+             GenerationBudget budget,
+             ComplexityFilter complexityFilter,
+             ProjectConfiguration cfg) {
         this.source = unitSource
         this.unitTestGenerator = unitTestGenerator
         this.sourceFilter = sourceFilter
         this.unitTestWriter = writer
+        this.incrementalGeneration = incrementalGeneration
+        this.coverageGuide = coverageGuide
+        this.budget = budget
+        this.complexityFilter = complexityFilter
+        this.threads = Math.max(1, cfg.threads)
+        this.queueCapacity = Math.max(1, cfg.queueCapacity)
+        this.blank = cfg.blank
     }
 
     void start() {
         log.info "[$source] ⇒ [$unitTestGenerator]"
 
         log.info "Getting units from $source"
-        StreamEx<Unit> units = source.units(sourceFilter)
+        Predicate<Path> filter = sourceFilter.and(incrementalGeneration.changedSources())
+        budget.startRun()
+        List<Path> paths = source.paths(filter).toList()
 
-        long totalUnits = source.size(sourceFilter)
+        ExecutorService workers = Executors.newFixedThreadPool(threads, threadFactory('generator-%d'))
+        ExecutorService writer = Executors.newSingleThreadExecutor(threadFactory('writer'))
+        try {
+            paths = coverageGuide.prioritize(paths)
+            log.info "Generating tests for ${paths.size()} units on $threads threads"
+            Set<Path> slowUnits = ConcurrentHashMap.newKeySet()
+            runPass(paths, slowUnits, workers, writer)
+            if (slowUnits) {
+                List<Path> slowPaths = paths.findAll { slowUnits.contains(it) }
+                log.info "Generating tests for ${slowPaths.size()} complex units"
+                runPass(slowPaths, null, workers, writer)
+            }
+        } finally {
+            workers.shutdownNow()
+            writer.shutdownNow()
+        }
+        unitTestWriter.flush()
+        incrementalGeneration.save()
+    }
+
+    /**
+     * @param slowUnits receives paths of units for the slow pass, which parses them again; null if this is the slow
+     *                  pass
+     */
+    private void runPass(List<Path> paths,
+                         Set<Path> slowUnits,
+                         ExecutorService workers,
+                         ExecutorService writer) {
+        int totalUnits = paths.size()
+        Semaphore inFlight = new Semaphore(queueCapacity)
+        BlockingQueue<GenerationResult> handOff = new ArrayBlockingQueue<>(queueCapacity)
         AtomicInteger counter = new AtomicInteger()
-        log.info "Generating tests for ${totalUnits} units"
-        units.map {
-            log.info "${counter.incrementAndGet()} / $totalUnits: $it.fullName"
-            unitTestGenerator.tryGenerateTest(it)
+        Future<?> writing = writer.submit({ writeInOrder(handOff, inFlight, totalUnits) } as Runnable)
+        paths.eachWithIndex { Path path, int index ->
+            inFlight.acquire()
+            workers.execute {
+                GenerationResult result = null
+                try {
+                    result = generate(index, path, slowUnits, counter, totalUnits)
+                } catch (Error e) {
+                    log.error "Fatal error while generating for $path", e
+                    throw e
+                } finally {
+                    // the writer waits for every index, so even a failed unit must be handed off
+                    handOff.put(result ?: new GenerationResult(index, null, Optional.empty()))
+                }
+            }
+        }
+        writing.get()
+    }
+
+    private GenerationResult generate(int index,
+                                      Path path,
+                                      Set<Path> slowUnits,
+                                      AtomicInteger counter,
+                                      int totalUnits) {
+        if (budget.skipUnit()) {
+            return new GenerationResult(index, null, Optional.empty())
+        }
+        try {
+            Optional<Unit> unit = source.unit(path)
+            if (!unit.present) {
+                return new GenerationResult(index, null, Optional.empty())
+            }
+            if (slowUnits != null && complexityFilter.isSlow(unit.get())) {
+                log.debug "${unit.get().fullName} is complex, moving it to the slow pass"
+                slowUnits.add(path)
+                return new GenerationResult(index, null, Optional.empty())
+            }
+            log.info "${counter.incrementAndGet()} / $totalUnits: ${unit.get().fullName}"
+            if (!coverageGuide.select(unit.get())) {
+                log.debug "${unit.get().fullName} is covered, skipping"
+                return new GenerationResult(index, null, Optional.empty())
+            }
+            complexityFilter.select(unit.get())
+            Optional<TestUnit> testUnit = budget.generate(unit.get(), {
+                incrementalGeneration.generate(unit.get(), { unitTestGenerator.tryGenerateTest(unit.get()) })
+            }, null)
+            if (testUnit == null) {
+                return new GenerationResult(index, null, Optional.empty())
+            }
+            return new GenerationResult(index, unit.get(), testUnit)
+        } catch (Exception e) {
+            log.error "Unhandled error while generating for $path", e
+            return new GenerationResult(index, null, Optional.empty())
         }
-                .filter { it.present }
-                .map { it.get() }
-                .each { unitTestWriter.write(it.test) }
+    }
+
+    private void writeInOrder(BlockingQueue<GenerationResult> handOff, Semaphore inFlight, int totalUnits) {
+        Map<Integer, GenerationResult> pending = new HashMap<>()
+        int next = 0
+        while (next < totalUnits) {
+            GenerationResult result = handOff.take()
+            pending.put(result.index, result)
+            while (pending.containsKey(next)) {
+                write(pending.remove(next))
+                inFlight.release()
+                next++
+            }
+        }
+    }
+
+    private void write(GenerationResult result) {
+        try {
+            if (result.testUnit.present && !blank) {
+                unitTestWriter.writeBehind(result.testUnit.get().test) { WriteResult written ->
+                    record(result, Optional.ofNullable(written.test))
+                }
+            } else {
+                record(result, Optional.empty())
+            }
+        } catch (Exception e) {
+            log.error "Failed to write test for $result.unit", e
+        }
+    }
+
+    private void record(GenerationResult result, Optional<Path> test) {
+        if (result.unit) {
+            incrementalGeneration.record(result.unit, test)
+        }
+    }
+
+    private static ThreadFactory threadFactory(String nameFormat) {
+        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build()
+    }
+
+    @Canonical
+    private static class GenerationResult {
+        int index
+        Unit unit
+        Optional<TestUnit> testUnit
     }
 }
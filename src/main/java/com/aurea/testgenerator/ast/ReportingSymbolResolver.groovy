@@ -1,6 +1,7 @@
 package com.aurea.testgenerator.ast
 
 import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.reporting.ReportingBus
 import com.github.javaparser.ast.Node
 import com.github.javaparser.ast.expr.Expression
 import com.github.javaparser.ast.type.Type
@@ -12,6 +13,7 @@ import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
+import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.ApplicationEventPublisher
 import org.springframework.stereotype.Component
 
@@ -25,6 +27,12 @@ class ReportingSymbolResolver implements SymbolResolver {
     private final JavaSymbolSolver solver
     private final ApplicationEventPublisher publisher
 
+    @Autowired
+    ReportingSymbolResolver(TypeSolver typeSolver, ReportingBus bus) {
+        solver = new JavaSymbolSolver(typeSolver)
+        this.publisher = bus
+    }
+
     ReportingSymbolResolver(TypeSolver typeSolver, ApplicationEventPublisher publisher) {
         solver = new JavaSymbolSolver(typeSolver)
         this.publisher = publisher
@@ -33,7 +41,7 @@ class ReportingSymbolResolver implements SymbolResolver {
     @Override
     <T> T resolveDeclaration(Node node, Class<T> resultClass) {
         try {
-            return solver.resolveDeclaration(node, resultClass)
+            return ResolutionMemo.memoize(node, resultClass) { solver.resolveDeclaration(node, resultClass) }
         } catch (UnsolvedSymbolException use) {
             publisher.publishEvent(new UnsolvedDeclarationEvent(this, node, DECLARATION))
         }
@@ -43,7 +51,7 @@ class ReportingSymbolResolver implements SymbolResolver {
     @Override
     <T> T toResolvedType(Type javaparserType, Class<T> resultClass) {
         try {
-            return solver.toResolvedType(javaparserType, resultClass)
+            return ResolutionMemo.memoize(javaparserType, resultClass) { solver.toResolvedType(javaparserType, resultClass) }
         } catch (UnsolvedSymbolException use) {
             publisher.publishEvent(new UnsolvedDeclarationEvent(this, javaparserType, TYPE_RESOLUTION))
         }
@@ -53,7 +61,7 @@ class ReportingSymbolResolver implements SymbolResolver {
     @Override
     ResolvedType calculateType(Expression expression) {
         try {
-            return solver.calculateType(expression)
+            return ResolutionMemo.memoize(expression, ResolvedType) { solver.calculateType(expression) }
         } catch (UnsolvedSymbolException use) {
             publisher.publishEvent(new UnsolvedDeclarationEvent(this, expression, TYPE_CALCULATION))
         }
@@ -0,0 +1,132 @@
+package com.aurea.testgenerator.ast;
+
+import com.aurea.testgenerator.generation.GenerationBudget;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-unit table of symbol resolution results, kept on the {@link CompilationUnit} so that every generator working on
+ * a unit shares it and it is dropped together with the unit. Failures are remembered as well: the original exception
+ * is rethrown instead of resolving (and building a stack trace) again. Nodes outside a compilation unit are not
+ * memoized.
+ */
+public final class ResolutionMemo {
+
+    private static final DataKey<ResolutionMemo> MEMO_KEY = new DataKey<ResolutionMemo>() {
+    };
+    private static final Object NULL = new Object();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+
+    private final Map<Key, Object> results = new HashMap<>();
+
+    private ResolutionMemo() {
+    }
+
+    /**
+     * @param operation distinguishes different questions asked about the same node, e.g. its type or its declaration
+     */
+    public static <T> T memoize(Node node, Object operation, Supplier<T> resolution) {
+        Optional<ResolutionMemo> memo = of(node);
+        if (!memo.isPresent()) {
+            return resolution.get();
+        }
+        Key key = new Key(node, operation);
+        Object cached = memo.get().get(key);
+        if (cached != null) {
+            hits.increment();
+            return unwrap(cached);
+        }
+        misses.increment();
+        GenerationBudget.checkpoint();
+        try {
+            T result = resolution.get();
+            memo.get().put(key, result == null ? NULL : result);
+            return result;
+        } catch (RuntimeException e) {
+            failures.increment();
+            memo.get().put(key, new Failure(e));
+            throw e;
+        }
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static long getFailures() {
+        return failures.sum();
+    }
+
+    private static Optional<ResolutionMemo> of(Node node) {
+        return node.findCompilationUnit().map(cu -> {
+            synchronized (cu) {
+                if (!cu.containsData(MEMO_KEY)) {
+                    cu.setData(MEMO_KEY, new ResolutionMemo());
+                }
+                return cu.getData(MEMO_KEY);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(Object cached) {
+        if (cached instanceof Failure) {
+            throw ((Failure) cached).exception;
+        }
+        return cached == NULL ? null : (T) cached;
+    }
+
+    private synchronized Object get(Key key) {
+        return results.get(key);
+    }
+
+    private synchronized void put(Key key, Object result) {
+        results.put(key, result);
+    }
+
+    private static final class Failure {
+        private final RuntimeException exception;
+
+        Failure(RuntimeException exception) {
+            this.exception = exception;
+        }
+    }
+
+    private static final class Key {
+        private final Node node;
+        private final Object operation;
+
+        Key(Node node, Object operation) {
+            this.node = node;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return node == other.node && operation.equals(other.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(node) + operation.hashCode();
+        }
+    }
+}
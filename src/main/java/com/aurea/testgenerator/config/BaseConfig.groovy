@@ -3,14 +3,19 @@ package com.aurea.testgenerator.config
 import com.aurea.testgenerator.coverage.CoverageService
 import com.aurea.testgenerator.coverage.JacocoCoverageRepository
 import com.aurea.testgenerator.coverage.JacocoCoverageService
+import com.aurea.testgenerator.coverage.JacocoExecCoverageRepository
 import com.aurea.testgenerator.coverage.NoCoverageService
+import com.aurea.testgenerator.incremental.DependencyTrackingTypeSolver
+import com.aurea.testgenerator.source.JavaSourceFinder
 import com.aurea.testgenerator.source.SourceFilter
 import com.aurea.testgenerator.source.SourceFilters
+import com.aurea.testgenerator.source.SourceIndex
+import com.aurea.testgenerator.symbolsolver.IndexedJarTypeSolver
+import com.aurea.testgenerator.symbolsolver.JarClassIndex
+import com.aurea.testgenerator.symbolsolver.RoutingTypeSolver
 import com.github.javaparser.JavaParser
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
-import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
 import org.springframework.context.annotation.Bean
@@ -18,6 +23,8 @@ import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.EnableAspectJAutoProxy
 
 import javax.annotation.PostConstruct
+import java.nio.file.Path
+import java.util.function.Predicate
 
 @Configuration
 @EnableAspectJAutoProxy
@@ -30,8 +37,13 @@ class BaseConfig {
     }
 
     @Bean
-    StopWatchAspect stopWatchAspect() {
-        new StopWatchAspect()
+    MetricsRegistry metricsRegistry(ProjectConfiguration projectConfiguration) {
+        new MetricsRegistry(projectConfiguration.metricsPath)
+    }
+
+    @Bean
+    ExecutionTimeAspect executionTimeAspect(MetricsRegistry metricsRegistry) {
+        new ExecutionTimeAspect(metricsRegistry)
     }
 
     @Bean
@@ -39,34 +51,49 @@ class BaseConfig {
         SourceFilters.empty()
     }
 
-    @Bean
-    TypeSolver combinedTypeSolver(ProjectConfiguration projectConfiguration) {
-        def solver = new CombinedTypeSolver(new ReflectionTypeSolver())
+    @Bean(destroyMethod = 'logStats')
+    RoutingTypeSolver combinedTypeSolver(ProjectConfiguration projectConfiguration, JavaSourceFinder sourceFinder) {
+        def solver = new RoutingTypeSolver()
+        solver.add(new ReflectionTypeSolver(), RoutingTypeSolver.JRE_PACKAGES)
 
-        solver.add(new JavaParserTypeSolver(new File(projectConfiguration.src)))
+        boolean trackDependencies = projectConfiguration.incremental
+        addSourceRootSolver(solver, sourceFinder.index(), trackDependencies)
 
         projectConfiguration.resolvePaths
                 .collect { new File(it) }
                 .findAll { it.exists() && it.isDirectory() }
-                .each { solver.add(new JavaParserTypeSolver(it)) }
+                .each { addSourceRootSolver(solver, SourceIndex.scan(it.toPath()), trackDependencies) }
 
+        List<Path> jars = []
         projectConfiguration.resolveJars.stream()
                 .map { new File(it) }
                 .filter { it.exists() }
-                .peek { addIndividualJarFileSolver(solver, it) }
+                .peek { addJar(jars, it) }
                 .filter { it.isDirectory() }
                 .each {
                     it.traverse {
-                        addIndividualJarFileSolver(solver, it)
+                        addJar(jars, it)
                     }
                 }
+        if (jars) {
+            JarClassIndex index = JarClassIndex.load(jars, projectConfiguration.jarIndexPath)
+            TypeSolver jarSolver = new IndexedJarTypeSolver(index)
+            solver.add(trackDependencies ? DependencyTrackingTypeSolver.ofJars(jarSolver, index.&jarOf) : jarSolver,
+                    index.packages())
+        }
 
         solver
     }
 
-    static void addIndividualJarFileSolver(CombinedTypeSolver solver, File file) {
+    static void addSourceRootSolver(RoutingTypeSolver solver, SourceIndex index, boolean trackDependencies) {
+        TypeSolver sourceSolver = new JavaParserTypeSolver(index.root.toFile())
+        solver.add(trackDependencies ? DependencyTrackingTypeSolver.ofSourceRoot(sourceSolver, index.root) : sourceSolver,
+                index.packages())
+    }
+
+    static void addJar(List<Path> jars, File file) {
         if (file.isFile() && file.name.toLowerCase().endsWith('.jar')) {
-            solver.add(new JarTypeSolver(file.path))
+            jars << file.toPath()
         }
     }
 
@@ -76,9 +103,15 @@ class BaseConfig {
     }
 
     @Bean
-    CoverageService coverageService(ProjectConfiguration projectConfiguration) {
-        if (projectConfiguration.jacoco) {
-            return new JacocoCoverageService(JacocoCoverageRepository.fromFile(projectConfiguration.jacocoPath))
+    CoverageService coverageService(ProjectConfiguration projectConfiguration, JavaSourceFinder sourceFinder) {
+        if (projectConfiguration.jacocoExec) {
+            return new JacocoCoverageService(JacocoExecCoverageRepository.fromFile(
+                    projectConfiguration.jacocoExecPath, projectConfiguration.classDirPaths))
+        } else if (projectConfiguration.jacoco) {
+            Set<String> srcPackages = projectConfiguration.jacocoSrcPackagesOnly ?
+                    sourceFinder.index().packages() : null
+            Predicate<String> packages = { srcPackages == null || srcPackages.contains(it) }
+            return new JacocoCoverageService(JacocoCoverageRepository.fromFile(projectConfiguration.jacocoPath, packages))
         } else {
             return new NoCoverageService()
         }
@@ -0,0 +1,30 @@
+package com.aurea.testgenerator.config
+
+import org.aspectj.lang.ProceedingJoinPoint
+import org.aspectj.lang.annotation.Around
+import org.aspectj.lang.annotation.Aspect
+import org.aspectj.lang.annotation.Pointcut
+
+@Aspect
+class ExecutionTimeAspect {
+
+    private final MetricsRegistry registry
+
+    ExecutionTimeAspect(MetricsRegistry registry) {
+        this.registry = registry
+    }
+
+    @Pointcut(value = "execution(* *(..))")
+    void anyPublicMethod() {}
+
+    @Around("anyPublicMethod() && @annotation(ExecutionTime)")
+    Object profileExecuteMethod(ProceedingJoinPoint jointPoint) throws Throwable {
+        MetricsRegistry.Timer timer = registry.timer(jointPoint.signature.toShortString())
+        long start = System.nanoTime()
+        try {
+            return jointPoint.proceed()
+        } finally {
+            timer.record(System.nanoTime() - start)
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.aurea.testgenerator.config;
+
+import groovy.json.JsonOutput;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Lock-free execution time metrics: a {@link Timer} per name with striped counters and a log-linear latency histogram
+ * (at most 12.5% error) giving percentiles. At shutdown the timers are logged as a table and, if a file is
+ * configured, written as JSON.
+ */
+public class MetricsRegistry {
+
+    private static final Logger logger = LogManager.getLogger(MetricsRegistry.class.getSimpleName());
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Path file;
+
+    public MetricsRegistry(Path file) {
+        this.file = file;
+    }
+
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    public List<Snapshot> snapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        timers.forEach((name, timer) -> snapshots.add(timer.snapshot(name)));
+        snapshots.sort(Comparator.comparingLong(Snapshot::getTotalNanos).reversed());
+        return snapshots;
+    }
+
+    @PreDestroy
+    public void dump() {
+        List<Snapshot> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info(table(snapshots));
+        }
+        if (file != null) {
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                List<Map<String, Object>> json = new ArrayList<>();
+                snapshots.forEach(snapshot -> json.add(snapshot.toMap()));
+                Files.write(file, JsonOutput.prettyPrint(JsonOutput.toJson(json)).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                logger.error("Failed to write metrics to " + file, e);
+            }
+        }
+    }
+
+    static String table(List<Snapshot> snapshots) {
+        int width = "method".length();
+        for (Snapshot snapshot : snapshots) {
+            width = Math.max(width, snapshot.getName().length());
+        }
+        String row = "\t%-" + width + "s %10s %12s %10s %10s %10s %10s %10s";
+        StringBuilder table = new StringBuilder(lineSeparator())
+                .append(String.format(row, "method", "calls", "total ms", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Snapshot s : snapshots) {
+            table.append(lineSeparator()).append(String.format(row, s.getName(), s.getCount(), millis(s.getTotalNanos()),
+                    millis(s.getMeanNanos()), millis(s.getP50Nanos()), millis(s.getP95Nanos()), millis(s.getP99Nanos()),
+                    millis(s.getMaxNanos())));
+        }
+        return table.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public static final class Timer {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+        private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+            buckets.incrementAndGet(bucket(value));
+        }
+
+        /**
+         * Values below 16 get a bucket each, above that every power of two is split into 8 buckets.
+         */
+        static int bucket(long value) {
+            if (value < LINEAR_LIMIT) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Largest value falling into the bucket.
+         */
+        static long upperBound(int bucket) {
+            if (bucket < LINEAR_LIMIT) {
+                return bucket;
+            }
+            int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+            long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+            long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+            return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        Snapshot snapshot(String name) {
+            long[] counts = new long[BUCKETS];
+            long recorded = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                recorded += counts[i];
+            }
+            long maxNanos = max.get();
+            return new Snapshot(name, count.sum(), total.sum(),
+                    percentile(counts, recorded, 0.50, maxNanos),
+                    percentile(counts, recorded, 0.95, maxNanos),
+                    percentile(counts, recorded, 0.99, maxNanos),
+                    maxNanos);
+        }
+
+        private static long percentile(long[] counts, long recorded, double quantile, long maxNanos) {
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * recorded));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+
+    public static final class Snapshot {
+        private final String name;
+        private final long count;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p95Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        Snapshot(String name, long count, long totalNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p95Nanos = p95Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP95Nanos() {
+            return p95Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("count", count);
+            map.put("totalNanos", totalNanos);
+            map.put("meanNanos", getMeanNanos());
+            map.put("p50Nanos", p50Nanos);
+            map.put("p95Nanos", p95Nanos);
+            map.put("p99Nanos", p99Nanos);
+            map.put("maxNanos", maxNanos);
+            return map;
+        }
+    }
+}
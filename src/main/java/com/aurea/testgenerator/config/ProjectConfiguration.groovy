@@ -28,8 +28,34 @@ class ProjectConfiguration {
     String testSrc
     String out
     String jacoco
+    boolean jacocoSrcPackagesOnly
+    String jacocoExec
+    List<String> classDirs = []
+    Integer skipCoveredPercent
+    boolean coverageFirst
     String methodPrefix
 
+    boolean incremental
+    String manifest
+
+    int threads = Runtime.runtime.availableProcessors()
+    int queueCapacity
+    int writerThreads = 2
+    long unitTimeout
+    long runTimeout
+    int reportingBuffer = 8192
+    int minComplexity
+    int slowPathComplexity
+
+    String astCache
+    long astCacheSize = 512
+
+    String jarIndex
+
+    String metricsFile
+    int profileTop = 10
+    String profileCsv
+
     FileNameConflictResolutionStrategyType fileNameResolution = FileNameConflictResolutionStrategyType.OVERRIDE
 
     Path getSrcPath() {
@@ -40,6 +66,14 @@ class ProjectConfiguration {
         Paths.get(jacoco)
     }
 
+    Path getJacocoExecPath() {
+        Paths.get(jacocoExec)
+    }
+
+    List<Path> getClassDirPaths() {
+        classDirs.collect { Paths.get(it) }
+    }
+
     Path getTestSrcPath() {
         Paths.get(testSrc)
     }
@@ -48,6 +82,30 @@ class ProjectConfiguration {
         Paths.get(out)
     }
 
+    Path getManifestPath() {
+        manifest ? Paths.get(manifest) : outPath.resolve('.general-patterns-manifest.json')
+    }
+
+    Path getAstCachePath() {
+        astCache ? Paths.get(astCache) : null
+    }
+
+    Path getJarIndexPath() {
+        jarIndex ? Paths.get(jarIndex) : null
+    }
+
+    Path getMetricsPath() {
+        metricsFile ? Paths.get(metricsFile) : null
+    }
+
+    Path getProfileCsvPath() {
+        profileCsv ? Paths.get(profileCsv) : null
+    }
+
+    int getQueueCapacity() {
+        queueCapacity > 0 ? queueCapacity : threads * 4
+    }
+
     String getMethodPrefix() {
         Objects.toString(methodPrefix, "")
     }
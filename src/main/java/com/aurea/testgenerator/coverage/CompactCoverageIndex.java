@@ -0,0 +1,285 @@
+package com.aurea.testgenerator.coverage;
+
+import com.aurea.coverage.unit.ClassCoverage;
+import com.aurea.coverage.unit.ClassCoverageImpl;
+import com.aurea.coverage.unit.MethodCoverage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Method counters of a whole report in flat primitive arrays. Package, class and method names are interned to int
+ * ids, methods of a class are stored contiguously and methods with the same name are chained, so every query is a
+ * couple of hash probes and array reads. Coverage objects are only created for the results.
+ */
+final class CompactCoverageIndex {
+
+    private final Names names;
+    private final int[] classPackage;
+    private final int[] className;
+    private final int[] classFirstMethod;
+    private final int[] classMethodCount;
+    private final LongIntTable classLookup;
+
+    private final int[] methodName;
+    private final int[] instructionCovered;
+    private final int[] instructionMissed;
+    private final int[] lineCovered;
+    private final int[] lineMissed;
+    private final int[] firstMethodWithName;
+    private final int[] nextMethodWithName;
+
+    private CompactCoverageIndex(Builder builder) {
+        names = builder.names;
+        int classes = builder.classes;
+        classPackage = Arrays.copyOf(builder.classPackage, classes);
+        className = Arrays.copyOf(builder.className, classes);
+        classFirstMethod = Arrays.copyOf(builder.classFirstMethod, classes);
+        classMethodCount = new int[classes];
+        classLookup = new LongIntTable(classes);
+        for (int c = 0; c < classes; c++) {
+            int end = c + 1 < classes ? classFirstMethod[c + 1] : builder.methods;
+            classMethodCount[c] = end - classFirstMethod[c];
+            classLookup.put(classKey(classPackage[c], className[c]), c);
+        }
+
+        int methods = builder.methods;
+        methodName = Arrays.copyOf(builder.methodName, methods);
+        instructionCovered = Arrays.copyOf(builder.instructionCovered, methods);
+        instructionMissed = Arrays.copyOf(builder.instructionMissed, methods);
+        lineCovered = Arrays.copyOf(builder.lineCovered, methods);
+        lineMissed = Arrays.copyOf(builder.lineMissed, methods);
+        firstMethodWithName = new int[names.size()];
+        Arrays.fill(firstMethodWithName, -1);
+        nextMethodWithName = new int[methods];
+        for (int m = methods - 1; m >= 0; m--) {
+            nextMethodWithName[m] = firstMethodWithName[methodName[m]];
+            firstMethodWithName[methodName[m]] = m;
+        }
+    }
+
+    Optional<ClassCoverage> classCoverage(String packageName, String name) {
+        int c = findClass(packageName, name);
+        if (c < 0) {
+            return Optional.empty();
+        }
+        List<MethodCoverage> methods = new ArrayList<>(classMethodCount[c]);
+        for (int m = classFirstMethod[c], end = m + classMethodCount[c]; m < end; m++) {
+            methods.add(methodCoverage(m));
+        }
+        return Optional.of(new ClassCoverageImpl(names.get(className[c]), methods));
+    }
+
+    /**
+     * Methods whose names differ only in packages of parameter types share a name; the one with most lines wins.
+     */
+    Optional<MethodCoverage> methodCoverage(String packageName, String name, String method) {
+        int c = findClass(packageName, name);
+        int methodId = names.find(method);
+        if (c < 0 || methodId < 0) {
+            return Optional.empty();
+        }
+        int best = -1;
+        for (int m = classFirstMethod[c], end = m + classMethodCount[c]; m < end; m++) {
+            if (methodName[m] == methodId && (best < 0 || total(m) >= total(best))) {
+                best = m;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(methodCoverage(best));
+    }
+
+    List<MethodCoverage> methodCoverages(String method) {
+        int methodId = names.find(method);
+        if (methodId < 0 || methodId >= firstMethodWithName.length || firstMethodWithName[methodId] < 0) {
+            return Collections.emptyList();
+        }
+        List<MethodCoverage> methods = new ArrayList<>();
+        for (int m = firstMethodWithName[methodId]; m >= 0; m = nextMethodWithName[m]) {
+            methods.add(methodCoverage(m));
+        }
+        return methods;
+    }
+
+    int classCount() {
+        return className.length;
+    }
+
+    int methodCount() {
+        return methodName.length;
+    }
+
+    private int findClass(String packageName, String name) {
+        int packageId = names.find(packageName);
+        int classId = names.find(name);
+        return packageId < 0 || classId < 0 ? -1 : classLookup.get(classKey(packageId, classId));
+    }
+
+    private int total(int m) {
+        return lineCovered[m] + lineMissed[m];
+    }
+
+    private MethodCoverage methodCoverage(int m) {
+        return new MethodCoverage(names.get(methodName[m]),
+                instructionCovered[m], instructionMissed[m], lineCovered[m], lineMissed[m]);
+    }
+
+    private static long classKey(int packageId, int classId) {
+        return ((long) packageId << 32) | (classId & 0xFFFFFFFFL);
+    }
+
+    static final class Builder {
+        private final Names names = new Names();
+        private int classes;
+        private int[] classPackage = new int[64];
+        private int[] className = new int[64];
+        private int[] classFirstMethod = new int[64];
+
+        private int methods;
+        private int[] methodName = new int[256];
+        private int[] instructionCovered = new int[256];
+        private int[] instructionMissed = new int[256];
+        private int[] lineCovered = new int[256];
+        private int[] lineMissed = new int[256];
+
+        /**
+         * Starts a class, later {@link #addMethod} calls belong to it. A class added twice keeps the last one.
+         */
+        Builder addClass(String packageName, String name) {
+            if (classes == className.length) {
+                int capacity = classes * 2;
+                classPackage = Arrays.copyOf(classPackage, capacity);
+                className = Arrays.copyOf(className, capacity);
+                classFirstMethod = Arrays.copyOf(classFirstMethod, capacity);
+            }
+            classPackage[classes] = names.intern(packageName);
+            className[classes] = names.intern(name);
+            classFirstMethod[classes] = methods;
+            classes++;
+            return this;
+        }
+
+        Builder addMethod(String name, int instructionsCovered, int instructionsMissed, int linesCovered, int linesMissed) {
+            if (classes == 0) {
+                throw new IllegalStateException("Method " + name + " outside of a class");
+            }
+            if (methods == methodName.length) {
+                int capacity = methods * 2;
+                methodName = Arrays.copyOf(methodName, capacity);
+                instructionCovered = Arrays.copyOf(instructionCovered, capacity);
+                instructionMissed = Arrays.copyOf(instructionMissed, capacity);
+                lineCovered = Arrays.copyOf(lineCovered, capacity);
+                lineMissed = Arrays.copyOf(lineMissed, capacity);
+            }
+            methodName[methods] = names.intern(name);
+            instructionCovered[methods] = instructionsCovered;
+            instructionMissed[methods] = instructionsMissed;
+            lineCovered[methods] = linesCovered;
+            lineMissed[methods] = linesMissed;
+            methods++;
+            return this;
+        }
+
+        CompactCoverageIndex build() {
+            return new CompactCoverageIndex(this);
+        }
+    }
+
+    /**
+     * Open addressing string to id table.
+     */
+    private static final class Names {
+        private String[] values = new String[256];
+        private int[] table = new int[512];
+        private int size;
+
+        int intern(String value) {
+            int slot = slot(value);
+            if (table[slot] != 0) {
+                return table[slot] - 1;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            table[slot] = ++size;
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        int find(String value) {
+            return value == null ? -1 : table[slot(value)] - 1;
+        }
+
+        String get(int id) {
+            return values[id];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slot(String value) {
+            int mask = table.length - 1;
+            int slot = mix(value.hashCode()) & mask;
+            while (table[slot] != 0 && !values[table[slot] - 1].equals(value)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = mix(values[id].hashCode()) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+    }
+
+    /**
+     * Open addressing long to non-negative int table of fixed capacity.
+     */
+    private static final class LongIntTable {
+        private final long[] keys;
+        private final int[] values;
+
+        LongIntTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
+
+        void put(long key, int value) {
+            int slot = slot(key);
+            keys[slot] = key;
+            values[slot] = value + 1;
+        }
+
+        int get(long key) {
+            return values[slot(key)] - 1;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = mix(Long.hashCode(key)) & mask;
+            while (values[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
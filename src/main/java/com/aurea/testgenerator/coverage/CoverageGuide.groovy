@@ -0,0 +1,147 @@
+package com.aurea.testgenerator.coverage
+
+import com.aurea.coverage.unit.ClassCoverage
+import com.aurea.coverage.unit.MethodCoverage
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.generation.Skips
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.ast.body.CallableDeclaration
+import com.github.javaparser.ast.body.TypeDeclaration
+import groovy.util.logging.Log4j2
+import one.util.streamex.IntStreamEx
+import one.util.streamex.StreamEx
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Uses existing coverage to spend generation time where it pays off: with project.skipCoveredPercent types and
+ * methods covered at least that much are marked as skipped, with project.coverageFirst units are generated in order
+ * of missed lines, largest first. Units are ranked by the coverage of the class named like their file, so ranking
+ * needs no parsing.
+ */
+@Component
+@Log4j2
+class CoverageGuide {
+
+    private static final long FULLY_COVERED = -1
+    private static final long NOT_LOADED = Long.MAX_VALUE
+    private static final String MAVEN_SOURCE_ROOT = 'src.main.java.'
+
+    final CoverageService coverageService
+    final Integer skipCoveredPercent
+    final boolean coverageFirst
+    final Path src
+
+    private final LongAdder skippedUnits = new LongAdder()
+    private final LongAdder skippedTypes = new LongAdder()
+    private final LongAdder skippedCallables = new LongAdder()
+
+    @Autowired
+    CoverageGuide(CoverageService coverageService, ProjectConfiguration cfg) {
+        this(coverageService, cfg.skipCoveredPercent, cfg.coverageFirst, cfg.srcPath)
+    }
+
+    CoverageGuide(CoverageService coverageService, Integer skipCoveredPercent, boolean coverageFirst, Path src) {
+        this.coverageService = coverageService
+        this.skipCoveredPercent = skipCoveredPercent
+        this.coverageFirst = coverageFirst
+        this.src = src.toAbsolutePath()
+    }
+
+    static CoverageGuide disabled() {
+        new CoverageGuide(new NoCoverageService(), null, false, Paths.get(''))
+    }
+
+    /**
+     * Marks covered types and callables of the unit as skipped.
+     *
+     * @return false if every type of the unit is covered, so there is nothing left to generate for
+     */
+    boolean select(Unit unit) {
+        if (skipCoveredPercent == null) {
+            return true
+        }
+        List<TypeDeclaration> types = unit.cu.findAll(TypeDeclaration)
+        types.each { type ->
+            if (isCovered(coverageService.getTypeCoverage(ClassCoverageQuery.of(unit, type)))) {
+                Skips.skip(type)
+                skippedTypes.increment()
+            }
+        }
+        types.each { type ->
+            StreamEx.of(type.members).select(CallableDeclaration).each { CallableDeclaration callable ->
+                if (Skips.isSkipped(type) || isCovered(coverageService.getMethodCoverage(MethodCoverageQuery.of(unit, type, callable)))) {
+                    Skips.skip(callable)
+                    skippedCallables.increment()
+                }
+            }
+        }
+        if (types && types.every { Skips.isSkipped(it) }) {
+            skippedUnits.increment()
+            return false
+        }
+        return true
+    }
+
+    /**
+     * Orders paths by the lines their classes miss, largest first, and drops fully covered units. Paths without
+     * coverage belong to classes no test loaded, so they come first; the order of paths with equal missed lines is
+     * kept.
+     */
+    List<Path> prioritize(List<Path> paths) {
+        if (!coverageFirst) {
+            return paths
+        }
+        long[] missed = paths.collect { rank(it) } as long[]
+        List<Path> prioritized = IntStreamEx.range(paths.size())
+                .boxed()
+                .remove { missed[it] == FULLY_COVERED }
+                .reverseSorted(Comparator.comparingLong { Integer i -> missed[i] })
+                .map { paths[it] }
+                .toList()
+        log.info "Prioritized ${prioritized.size()} units by missed lines, ${paths.size() - prioritized.size()} fully covered"
+        prioritized
+    }
+
+    private long rank(Path path) {
+        Path relative = src.relativize(path.toAbsolutePath())
+        String packageName = relative.parent ? relative.parent.toString().replace(File.separator, '.') : ''
+        if (packageName.contains(MAVEN_SOURCE_ROOT)) {
+            packageName = packageName.substring(packageName.indexOf(MAVEN_SOURCE_ROOT) + MAVEN_SOURCE_ROOT.length())
+        }
+        String className = relative.fileName.toString() - ~/\.java$/
+        Optional<ClassCoverage> coverage = coverageService.getClassCoverage(packageName, className)
+        if (!coverage.present) {
+            return NOT_LOADED
+        }
+        if (skipCoveredPercent != null && isCovered(coverage.get())) {
+            skippedUnits.increment()
+            return FULLY_COVERED
+        }
+        coverage.get().uncovered
+    }
+
+    private boolean isCovered(ClassCoverage coverage) {
+        isCovered(coverage.covered, coverage.total)
+    }
+
+    private boolean isCovered(MethodCoverage coverage) {
+        isCovered(coverage.covered, coverage.total)
+    }
+
+    private boolean isCovered(int covered, int total) {
+        total > 0 && covered * 100L >= skipCoveredPercent * (long) total
+    }
+
+    @PreDestroy
+    void logStats() {
+        if (skipCoveredPercent != null && log.infoEnabled) {
+            log.info "Skipped as covered at least ${skipCoveredPercent}%: ${skippedUnits} units, ${skippedTypes} types, ${skippedCallables} methods"
+        }
+    }
+}
@@ -3,9 +3,18 @@ package com.aurea.testgenerator.coverage;
 import com.aurea.coverage.unit.ClassCoverage;
 import com.aurea.coverage.unit.MethodCoverage;
 
+import java.util.Optional;
+
 public interface CoverageService {
 
     MethodCoverage getMethodCoverage(MethodCoverageQuery methodCoverageQuery);
 
     ClassCoverage getTypeCoverage(ClassCoverageQuery classCoverageQuery);
+
+    /**
+     * Coverage of a top level class by name, without a parsed unit. Empty if the service has no coverage data.
+     */
+    default Optional<ClassCoverage> getClassCoverage(String packageName, String className) {
+        return Optional.empty();
+    }
 }
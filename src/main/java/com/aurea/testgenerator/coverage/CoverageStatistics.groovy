@@ -32,7 +32,7 @@ class CoverageStatistics implements ApplicationListener<CoverageReportEvent> {
         String unitName = unitUnderTest.fullName
 
         def visitedNode = visitedNodesByUnit.computeIfAbsent(unitName, {
-            totalVisitedLinesCounter.add(NodeLocCounter.count(unitUnderTest.cu))
+            totalVisitedLinesCounter.add(NodeLocCounter.cached(unitUnderTest.cu))
             new HashMap<String, Long>()
         })
 
@@ -44,13 +44,21 @@ class CoverageStatistics implements ApplicationListener<CoverageReportEvent> {
             String signature = getSignature(callable)
 
             visitedNode.computeIfAbsent(signature, {
-                long lines = NodeLocCounter.count(callable)
+                long lines = NodeLocCounter.cached(callable)
                 coveredLinesCounter.add(lines)
                 lines
             })
         }
     }
 
+    long getCoveredLines() {
+        coveredLinesCounter.sum()
+    }
+
+    long getVisitedLines() {
+        totalVisitedLinesCounter.sum()
+    }
+
     @PreDestroy
     void log() {
         if (log.debugEnabled) {
@@ -1,87 +1,45 @@
 package com.aurea.testgenerator.coverage;
 
 import com.aurea.coverage.CoverageIndex;
-import com.aurea.coverage.parser.JacocoParsers;
 import com.aurea.coverage.unit.ClassCoverage;
 import com.aurea.coverage.unit.MethodCoverage;
-import com.aurea.coverage.unit.Named;
-import com.aurea.coverage.unit.PackageCoverage;
 import com.google.common.base.Strings;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
-import com.google.common.collect.ImmutableMap;
 
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static java.util.Collections.emptyMap;
-import static java.util.Collections.emptySet;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
+import java.util.function.Predicate;
 
 public class JacocoCoverageRepository implements CoverageRepository {
 
-    private final CoverageIndex index;
-
-    private final Supplier<Map<String, Set<MethodCoverage>>> coveredMethodsCache = Suppliers.memoize(new Supplier<Map<String, Set<MethodCoverage>>>() {
-        @Override
-        public Map<String, Set<MethodCoverage>> get() {
-            return index.getModuleCoverage().methodCoverages().collect(groupingBy(Named::getName, Collectors.toSet()));
-        }
-    });
-
-    private final Supplier<Map<String, Map<String, ClassCoverage>>> packageIndex = Suppliers.memoize(new Supplier<Map<String, Map<String, ClassCoverage>>>() {
-        @Override
-        public Map<String, Map<String, ClassCoverage>> get() {
-            Collector<PackageCoverage, ?, Map<String, Map<String, ClassCoverage>>> mapPackageNamesToMapsOfCoverages =
-                    toMap(Named::getName, pc -> {
-                        Collector<ClassCoverage, ?, Map<String, ClassCoverage>> mapClassCoveragesToNames = toMap(Named::getName, Function.identity());
-                        return pc.classCoverages().collect(mapClassCoveragesToNames);
-                    });
-            return index.getModuleCoverage().packageCoverages().collect(mapPackageNamesToMapsOfCoverages);
-        }
-    });
+    private final CompactCoverageIndex index;
 
-    private final Supplier<ImmutableMap<String, Map<String, Map<String, MethodCoverage>>>> moduleIndex =
-            Suppliers.memoize(new Supplier<ImmutableMap<String, Map<String, Map<String, MethodCoverage>>>>() {
-                @Override
-                public ImmutableMap<String, Map<String, Map<String, MethodCoverage>>> get() {
-                    Stream<PackageCoverage> packageCoverages = index.getModuleCoverage().packageCoverages();
-                    Collector<PackageCoverage, ?, Map<String, Map<String, Map<String, MethodCoverage>>>> mapPackageCoveragesToNames =
-                            toMap(Named::getName, pc -> {
-                                Collector<ClassCoverage, ?, Map<String, Map<String, MethodCoverage>>> mapClassCoveragesToMethodCoverages =
-                                        toMap(Named::getName, cc -> {
-                                            Collector<MethodCoverage, ?, Map<String, MethodCoverage>> mapMethodCoveragesToNames = toMap(Named::getName, Function.identity(),
-                                                    (mc1, mc2) -> {
-                                                        if (mc1.getTotal() > mc2.getTotal()) {
-                                                            return mc1;
-                                                        } else {
-                                                            return mc2;
-                                                        }
-                                                    });
-                                            return cc.methodCoverages().distinct().collect(mapMethodCoveragesToNames);
-                                        });
-                                return pc.classCoverages().collect(mapClassCoveragesToMethodCoverages);
-                            });
-                    Map<String, Map<String, Map<String, MethodCoverage>>> collected = packageCoverages.collect(mapPackageCoveragesToNames);
-                    return ImmutableMap.copyOf(collected);
-                }
-            });
+    public JacocoCoverageRepository(CoverageIndex coverageIndex) {
+        CompactCoverageIndex.Builder builder = new CompactCoverageIndex.Builder();
+        coverageIndex.getModuleCoverage().packageCoverages().forEach(pc -> pc.classCoverages().forEach(cc -> {
+            builder.addClass(pc.getName(), cc.getName());
+            cc.methodCoverages().distinct().forEach(mc -> builder.addMethod(mc.getName(),
+                    mc.getInstructionCovered(), mc.getInstructionUncovered(), mc.getCovered(), mc.getUncovered()));
+        }));
+        this.index = builder.build();
+    }
 
-    public JacocoCoverageRepository(CoverageIndex index) {
+    private JacocoCoverageRepository(CompactCoverageIndex index) {
         this.index = index;
     }
 
     public static JacocoCoverageRepository fromFile(Path pathToJacoco) {
-        return new JacocoCoverageRepository(JacocoParsers.fromXml(pathToJacoco));
+        return fromFile(pathToJacoco, packageName -> true);
+    }
+
+    /**
+     * Streams the XML report, so the report itself is never held in memory.
+     *
+     * @param packageFilter packages to load, e.g. only the ones present in project.src
+     */
+    public static JacocoCoverageRepository fromFile(Path pathToJacoco, Predicate<String> packageFilter) {
+        return new JacocoCoverageRepository(JacocoXmlLoader.load(pathToJacoco, packageFilter));
     }
 
     @Override
@@ -92,9 +50,7 @@ public class JacocoCoverageRepository implements CoverageRepository {
         if (Strings.isNullOrEmpty(criteria.getPackageName())) {
             throw new IllegalArgumentException("Package name must be provided!");
         }
-        return Optional.ofNullable(packageIndex.get()
-                .getOrDefault(criteria.getPackageName(), emptyMap())
-                .get(criteria.getClassName()));
+        return index.classCoverage(criteria.getPackageName(), criteria.getClassName());
     }
 
     @Override
@@ -108,15 +64,12 @@ public class JacocoCoverageRepository implements CoverageRepository {
         if (Strings.isNullOrEmpty(criteria.getPackageName())) {
             throw new IllegalArgumentException("Package name must be provided!");
         }
-        return Optional.ofNullable(moduleIndex.get()
-                .getOrDefault(criteria.getPackageName(), emptyMap())
-                .getOrDefault(criteria.getClassName(), emptyMap())
-                .get(criteria.getMethodName()));
+        return index.methodCoverage(criteria.getPackageName(), criteria.getClassName(), criteria.getMethodName());
     }
 
     @Override
     public Collection<MethodCoverage> getMethodCoverages(MethodCoverageCriteria query) {
         Objects.requireNonNull(query.getMethodName());
-        return coveredMethodsCache.get().getOrDefault(query.getMethodName(), emptySet());
+        return index.methodCoverages(query.getMethodName());
     }
 }
@@ -3,14 +3,16 @@ package com.aurea.testgenerator.coverage;
 import com.aurea.coverage.unit.ClassCoverage;
 import com.aurea.coverage.unit.ClassCoverageImpl;
 import com.aurea.coverage.unit.MethodCoverage;
-import com.aurea.testgenerator.ast.ASTNodeUtils;
 import com.aurea.testgenerator.source.Unit;
-import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.TypeDeclaration;
-import com.github.javaparser.ast.expr.Name;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.ReferenceType;
 import com.github.javaparser.ast.type.TypeParameter;
@@ -19,11 +21,11 @@ import one.util.streamex.StreamEx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-
-import static com.aurea.testgenerator.ast.ASTNodeUtils.findAncestorSubTypeOf;
+import java.util.Optional;
 
 public class JacocoCoverageService implements CoverageService {
 
@@ -31,6 +33,7 @@ public class JacocoCoverageService implements CoverageService {
             .getSimpleName());
 
     private static final String COMMON_MAVEN_JAVA_MODULE_PREFIX = "src.main.java.";
+    private static final String CONSTRUCTOR_NAME = "<init>";
 
     private final CoverageRepository coverageRepository;
 
@@ -68,6 +71,11 @@ public class JacocoCoverageService implements CoverageService {
         });
     }
 
+    @Override
+    public Optional<ClassCoverage> getClassCoverage(String packageName, String className) {
+        return coverageRepository.getClassCoverage(ClassCoverageCriteria.of(packageName, className));
+    }
+
     private boolean isAbstractOrInterfaceMethod(MethodCoverageQuery query) {
         return query.getMethod().getModifiers().contains(Modifier.ABSTRACT) ||
                 ((query.getType() instanceof ClassOrInterfaceDeclaration) && (
@@ -76,102 +84,96 @@ public class JacocoCoverageService implements CoverageService {
     }
 
     private String toJacocoMethodNameRegex(MethodCoverageQuery query) {
-        final Map<String, String> classGenerics = getClassGenerics(query);
-        assert query.getMethod() instanceof MethodDeclaration : "Constructor coverage not implemented yet";
-        MethodDeclaration methodDeclaration = (MethodDeclaration) query.getMethod();
-        String args = StreamEx.of(methodDeclaration.getParameters()).map(parameter -> {
-            StringBuilder name = new StringBuilder();
-            if (parameter.getType() instanceof ReferenceType) {
-                ReferenceType ref = (ReferenceType) parameter.getType();
-                if (ref instanceof ClassOrInterfaceType) {
-                    ClassOrInterfaceType classType = (ClassOrInterfaceType) ref;
-                    if (classType.getScope().isPresent()) {
-                        String scopeName = classType.getScope().get().getNameAsString();
-                        if (Character.isUpperCase(scopeName.charAt(0))) {
-                            name.append(scopeName).append(".");
-                        }
+        final UnitSymbolTable symbols = UnitSymbolTable.of(query.getUnit());
+        final Map<String, String> classGenerics = symbols.typeParameterBounds(query.getType());
+        final CallableDeclaration<?> callable = query.getMethod();
+        final Map<String, String> methodGenerics = StreamEx.of(callable.getTypeParameters())
+                .filter(typeParameter -> !typeParameter.getTypeBound().isEmpty())
+                .toMap(TypeParameter::getNameAsString, typeParameter -> typeParameter
+                        .getTypeBound()
+                        .get(0)
+                        .getNameAsString());
+        String args = StreamEx.of(implicitConstructorParameters(query))
+                .append(StreamEx.of(callable.getParameters())
+                        .map(parameter -> toJacocoParameterName(query.getType(), symbols, methodGenerics,
+                                classGenerics, parameter)))
+                .joining(", ");
+        String name = callable instanceof ConstructorDeclaration ? CONSTRUCTOR_NAME : callable.getNameAsString();
+        return name + "(" + args + ")";
+    }
+
+    private static String toJacocoParameterName(TypeDeclaration<?> type, UnitSymbolTable symbols,
+                                                Map<String, String> methodGenerics,
+                                                Map<String, String> classGenerics, Parameter parameter) {
+        StringBuilder name = new StringBuilder();
+        if (parameter.getType() instanceof ReferenceType) {
+            ReferenceType ref = (ReferenceType) parameter.getType();
+            if (ref instanceof ClassOrInterfaceType) {
+                ClassOrInterfaceType classType = (ClassOrInterfaceType) ref;
+                if (classType.getScope().isPresent()) {
+                    String scopeName = classType.getScope().get().getNameAsString();
+                    if (Character.isUpperCase(scopeName.charAt(0))) {
+                        name.append(scopeName).append(".");
                     }
-                    name.append(classType.getName());
                 }
+                name.append(classType.getName());
             }
-            if (name.length() == 0) {
-                List<String> parts = Splitter.on(".").splitToList(parameter.getType().toString());
-                name.append(parts.get(parts.size() - 1));
-            }
-            String noGenerics = name.toString().replaceAll("<.+>", "").replace("[]", "");
-            String fullName = getFullNameFromInnerTypes(query.getType(), noGenerics);
-            fullName = getFullNameFromImportTypes(query, fullName);
-            Map<String, String> methodGenerics = StreamEx.of(methodDeclaration.getTypeParameters())
-                    .filter(typeParameter -> !typeParameter.getTypeBound().isEmpty())
-                    .toMap(TypeParameter::getNameAsString, typeParameter -> typeParameter
-                            .getTypeBound()
-                            .get(0)
-                            .getNameAsString());
-            fullName = methodGenerics.getOrDefault(fullName, classGenerics.getOrDefault(fullName,
-                    fullName));
-            StringBuilder result = new StringBuilder(fullName);
-            int arrayCount;
-            if (parameter.isVarArgs()) {
+        }
+        if (name.length() == 0) {
+            List<String> parts = Splitter.on(".").splitToList(parameter.getType().toString());
+            name.append(parts.get(parts.size() - 1));
+        }
+        String noGenerics = name.toString().replaceAll("<.+>", "").replace("[]", "");
+        String fullName = symbols.nestedName(type, noGenerics);
+        fullName = symbols.importedName(fullName);
+        fullName = methodGenerics.getOrDefault(fullName, classGenerics.getOrDefault(fullName,
+                fullName));
+        StringBuilder result = new StringBuilder(fullName);
+        int arrayCount;
+        if (parameter.isVarArgs()) {
+            result.append("[]");
+        } else if ((arrayCount = parameter.getType().getArrayLevel()) != 0) {
+            for (int i = 0; i < arrayCount; i++) {
                 result.append("[]");
-            } else if ((arrayCount = parameter.getType().getArrayLevel()) != 0) {
-                for (int i = 0; i < arrayCount; i++) {
-                    result.append("[]");
-                }
-            } else if (parameter.getType() instanceof ReferenceType) {
-                ReferenceType referenceType = (ReferenceType) parameter.getType();
-                for (int i = 0; i < referenceType.getArrayLevel(); i++) {
-                    result.append("[]");
-                }
             }
-            return result.toString();
-        }).joining(", ");
-        return methodDeclaration.getName() + "(" + args + ")";
+        }
+        return result.toString();
     }
 
-    private Map<String, String> getClassGenerics(MethodCoverageQuery query) {
-        if (query.getType() instanceof ClassOrInterfaceDeclaration) {
-            return StreamEx.of(((ClassOrInterfaceDeclaration) query.getType()).getTypeParameters())
-                    .toMap(TypeParameter::getNameAsString, typeParameter -> {
-                        if (typeParameter.getTypeBound().isEmpty()) {
-                            return "Object";
-                        }
-                        return typeParameter.getTypeBound().get(0).getNameAsString();
-                    });
-        } else {
-            return Collections.emptyMap();
+    /**
+     * javac passes the enclosing instance to constructors of inner classes and name and ordinal to enum constructors,
+     * JaCoCo reports them as ordinary parameters.
+     */
+    private static List<String> implicitConstructorParameters(MethodCoverageQuery query) {
+        if (!(query.getMethod() instanceof ConstructorDeclaration) || query.getAnonymousClassIndex() > 0) {
+            return Collections.emptyList();
+        }
+        TypeDeclaration<?> type = query.getType();
+        if (type instanceof EnumDeclaration) {
+            return Arrays.asList("String", "int");
+        }
+        Optional<Node> parent = type.getParentNode();
+        if (type instanceof ClassOrInterfaceDeclaration && !type.getModifiers().contains(Modifier.STATIC)
+                && parent.isPresent() && parent.get() instanceof TypeDeclaration
+                && !isInterface((TypeDeclaration<?>) parent.get())) {
+            return Collections.singletonList(nestedTypeName((TypeDeclaration<?>) parent.get()));
         }
+        return Collections.emptyList();
     }
 
-    private String getFullNameFromImportTypes(MethodCoverageQuery query, String fullName) {
-        return StreamEx.of(query.getUnit().getCu().getImports())
-                .map(ImportDeclaration::getName)
-                .select(Name.class)
-                .findFirst(nameExpr -> nameExpr.getIdentifier()
-                        .equals(fullName) && Character.isUpperCase(nameExpr.getQualifier()
-                        .get()
-                        .getIdentifier()
-                        .charAt(0)))
-                .map(Name::asString)
-                .orElse(fullName);
+    private static boolean isInterface(TypeDeclaration<?> type) {
+        return type instanceof AnnotationDeclaration
+                || (type instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) type).isInterface());
     }
 
-    private String getFullNameFromInnerTypes(TypeDeclaration typeDeclaration, String type) {
-        TypeDeclaration ancestor = findAncestorSubTypeOf(TypeDeclaration.class, typeDeclaration)
-                .orElse(typeDeclaration);
-        List<TypeDeclaration> childs = ASTNodeUtils.findChildsSubTypesOf(TypeDeclaration.class,
-                ancestor);
-        return StreamEx.of(childs)
-                .findFirst(td ->
-                        td.getNameAsString().equals(type) &&
-                                td.getParentNode().isPresent() &&
-                                TypeDeclaration.class.isAssignableFrom(td.getParentNode()
-                                        .get()
-                                        .getClass()))
-                .map(subType -> subType.getParentNode()
-                        .map(node ->
-                                ((TypeDeclaration) node).getNameAsString() + ".")
-                        .orElse("") + subType.getNameAsString())
-                .orElse(type);
+    private static String nestedTypeName(TypeDeclaration<?> type) {
+        StringBuilder name = new StringBuilder(type.getNameAsString());
+        Optional<Node> parent = type.getParentNode();
+        while (parent.isPresent() && parent.get() instanceof TypeDeclaration) {
+            name.insert(0, ((TypeDeclaration<?>) parent.get()).getNameAsString() + ".");
+            parent = parent.get().getParentNode();
+        }
+        return name.toString();
     }
 
     private static String toClassCoverageName(Unit unit, TypeDeclaration n, int
@@ -193,26 +195,11 @@ public class JacocoCoverageService implements CoverageService {
     }
 
     private static String isNestedClass(Unit unit, TypeDeclaration n) {
-        String result = getSubtypeOfUnit(unit, n);
+        UnitSymbolTable symbols = UnitSymbolTable.of(unit);
+        String result = symbols.topLevelTypeOf(n);
         if ("".equals(result)) {
-            result = getSubtypeFromImports(unit, n);
+            result = symbols.importedType(n.getNameAsString());
         }
         return result;
     }
-
-    private static String getSubtypeFromImports(Unit unit, TypeDeclaration n) {
-        return StreamEx.of(unit.getCu().getImports())
-                .map(ImportDeclaration::getName)
-                .select(Name.class)
-                .findFirst(nameExpr -> nameExpr.getIdentifier().equals(n.getNameAsString()))
-                .map(Name::asString)
-                .orElse("");
-    }
-
-    private static String getSubtypeOfUnit(Unit unit, TypeDeclaration n) {
-        return StreamEx.of(unit.getCu().getTypes())
-                .findFirst(type -> type.getMembers().contains(n))
-                .map(TypeDeclaration::getNameAsString)
-                .orElse("");
-    }
 }
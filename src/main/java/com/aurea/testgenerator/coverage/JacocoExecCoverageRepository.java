@@ -0,0 +1,155 @@
+package com.aurea.testgenerator.coverage;
+
+import com.aurea.coverage.unit.ClassCoverage;
+import com.aurea.coverage.unit.ClassCoverageImpl;
+import com.aurea.coverage.unit.MethodCoverage;
+import com.aurea.coverage.unit.Named;
+import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecFileLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Coverage computed straight from jacoco.exec execution data and the compiled classes, without an XML report. A class
+ * is analyzed the first time its coverage is asked for; names follow the same conventions as the XML report.
+ */
+public class JacocoExecCoverageRepository implements CoverageRepository {
+
+    private static final Logger logger = LogManager.getLogger(JacocoExecCoverageRepository.class.getSimpleName());
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final ExecutionDataStore executionData;
+    private final List<Path> classDirs;
+    private final Map<String, Optional<ClassCoverage>> classes = new ConcurrentHashMap<>();
+
+    private final Supplier<Map<String, Set<MethodCoverage>>> methodsByName = Suppliers.memoize(
+            () -> allClassFiles()
+                    .map(this::classCoverage)
+                    .filter(Optional::isPresent)
+                    .flatMap(coverage -> coverage.get().methodCoverages())
+                    .collect(groupingBy(Named::getName, Collectors.toSet())));
+
+    public JacocoExecCoverageRepository(ExecutionDataStore executionData, List<Path> classDirs) {
+        this.executionData = executionData;
+        this.classDirs = classDirs;
+    }
+
+    public static JacocoExecCoverageRepository fromFile(Path exec, List<Path> classDirs) {
+        ExecFileLoader loader = new ExecFileLoader();
+        try {
+            loader.load(exec.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + exec, e);
+        }
+        return new JacocoExecCoverageRepository(loader.getExecutionDataStore(), classDirs);
+    }
+
+    @Override
+    public Optional<ClassCoverage> getClassCoverage(ClassCoverageCriteria criteria) {
+        if (Strings.isNullOrEmpty(criteria.getClassName())) {
+            throw new IllegalArgumentException("Class name must be provided!");
+        }
+        if (Strings.isNullOrEmpty(criteria.getPackageName())) {
+            throw new IllegalArgumentException("Package name must be provided!");
+        }
+        return classCoverage(criteria.getPackageName().replace('.', '/') + '/' + criteria.getClassName());
+    }
+
+    @Override
+    public Optional<MethodCoverage> getMethodCoverage(MethodCoverageCriteria criteria) {
+        if (Strings.isNullOrEmpty(criteria.getMethodName())) {
+            throw new IllegalArgumentException("Method name must be provided!");
+        }
+        return getClassCoverage(criteria.getClassCoverageCriteria()).flatMap(coverage -> coverage.methodCoverages()
+                .filter(method -> method.getName().equals(criteria.getMethodName()))
+                .reduce((mc1, mc2) -> mc1.getTotal() > mc2.getTotal() ? mc1 : mc2));
+    }
+
+    /**
+     * Analyzes every class in the class directories on first use.
+     */
+    @Override
+    public Collection<MethodCoverage> getMethodCoverages(MethodCoverageCriteria query) {
+        Objects.requireNonNull(query.getMethodName());
+        return methodsByName.get().getOrDefault(query.getMethodName(), emptySet());
+    }
+
+    private Optional<ClassCoverage> classCoverage(String internalName) {
+        return classes.computeIfAbsent(internalName, this::analyze);
+    }
+
+    private Optional<ClassCoverage> analyze(String internalName) {
+        Optional<Path> classFile = classDirs.stream()
+                .map(dir -> dir.resolve(internalName + CLASS_EXTENSION))
+                .filter(Files::isRegularFile)
+                .findFirst();
+        if (!classFile.isPresent()) {
+            logger.debug("No class file for {}", internalName);
+            return Optional.empty();
+        }
+        CoverageBuilder builder = new CoverageBuilder();
+        try (InputStream in = Files.newInputStream(classFile.get())) {
+            new Analyzer(executionData, builder).analyzeClass(in, classFile.get().toString());
+        } catch (IOException e) {
+            logger.error("Failed to analyze " + classFile.get(), e);
+            return Optional.empty();
+        }
+        return builder.getClasses().stream().findFirst().map(JacocoExecCoverageRepository::toClassCoverage);
+    }
+
+    private static ClassCoverage toClassCoverage(IClassCoverage coverage) {
+        String className = coverage.getName().substring(coverage.getName().lastIndexOf('/') + 1);
+        List<MethodCoverage> methods = new ArrayList<>(coverage.getMethods().size());
+        for (IMethodCoverage method : coverage.getMethods()) {
+            methods.add(new MethodCoverage(JacocoXmlLoader.methodName(method.getName(), method.getDesc()),
+                    method.getInstructionCounter().getCoveredCount(),
+                    method.getInstructionCounter().getMissedCount(),
+                    method.getLineCounter().getCoveredCount(),
+                    method.getLineCounter().getMissedCount()));
+        }
+        return new ClassCoverageImpl(className, methods);
+    }
+
+    private Stream<String> allClassFiles() {
+        return classDirs.stream().flatMap(dir -> {
+            try (Stream<Path> files = Files.walk(dir)) {
+                return files.filter(file -> file.toString().endsWith(CLASS_EXTENSION))
+                        .map(file -> {
+                            String relative = dir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                            return relative.substring(0, relative.length() - CLASS_EXTENSION.length());
+                        })
+                        .collect(Collectors.toList())
+                        .stream();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list " + dir, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.aurea.testgenerator.coverage;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
+/**
+ * Reads a JaCoCo XML report with a StAX cursor in a single pass into a {@link CompactCoverageIndex}, keeping only method
+ * counters of the packages accepted by the filter. Names are converted the way jacoco-parser does: packages and classes
+ * are dotted and relative to their package, methods are written as {@code name(SimpleType, int[])}.
+ */
+final class JacocoXmlLoader {
+
+    private static final String PACKAGE = "package";
+    private static final String CLASS = "class";
+    private static final String METHOD = "method";
+    private static final String COUNTER = "counter";
+
+    private final Predicate<String> packageFilter;
+    private final CompactCoverageIndex.Builder index = new CompactCoverageIndex.Builder();
+
+    private String packageName;
+    private String methodName;
+    private final int[] instructions = new int[2];
+    private final int[] lines = new int[2];
+
+    private JacocoXmlLoader(Predicate<String> packageFilter) {
+        this.packageFilter = packageFilter;
+    }
+
+    static CompactCoverageIndex load(Path xml, Predicate<String> packageFilter) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(xml), 1 << 16)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                return new JacocoXmlLoader(packageFilter).read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + xml, e);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Failed to parse " + xml, e);
+        }
+    }
+
+    private CompactCoverageIndex read(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                startElement(reader);
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                endElement(reader.getLocalName());
+            }
+        }
+        return index.build();
+    }
+
+    private void startElement(XMLStreamReader reader) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case PACKAGE:
+                packageName = reader.getAttributeValue(null, "name").replace('/', '.');
+                if (!packageFilter.test(packageName)) {
+                    skipElement(reader);
+                    packageName = null;
+                }
+                break;
+            case CLASS:
+                String name = reader.getAttributeValue(null, "name");
+                index.addClass(packageName, name.substring(name.lastIndexOf('/') + 1));
+                break;
+            case METHOD:
+                methodName = methodName(reader.getAttributeValue(null, "name"), reader.getAttributeValue(null, "desc"));
+                instructions[0] = instructions[1] = lines[0] = lines[1] = 0;
+                break;
+            case COUNTER:
+                if (methodName != null) {
+                    counter(reader);
+                }
+                break;
+            default:
+        }
+    }
+
+    private void endElement(String element) {
+        switch (element) {
+            case METHOD:
+                index.addMethod(methodName, instructions[0], instructions[1], lines[0], lines[1]);
+                methodName = null;
+                break;
+            case PACKAGE:
+                packageName = null;
+                break;
+            default:
+        }
+    }
+
+    private void counter(XMLStreamReader reader) {
+        int[] target;
+        switch (reader.getAttributeValue(null, "type")) {
+            case "INSTRUCTION":
+                target = instructions;
+                break;
+            case "LINE":
+                target = lines;
+                break;
+            default:
+                return;
+        }
+        target[0] = Integer.parseInt(reader.getAttributeValue(null, "covered"));
+        target[1] = Integer.parseInt(reader.getAttributeValue(null, "missed"));
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    static String methodName(String name, String desc) {
+        StringBuilder result = new StringBuilder(name).append('(');
+        int i = 1;
+        boolean first = true;
+        while (desc.charAt(i) != ')') {
+            int arrays = 0;
+            while (desc.charAt(i) == '[') {
+                arrays++;
+                i++;
+            }
+            if (!first) {
+                result.append(", ");
+            }
+            first = false;
+            char type = desc.charAt(i);
+            if (type == 'L') {
+                int end = desc.indexOf(';', i);
+                String internalName = desc.substring(i + 1, end);
+                result.append(internalName.substring(internalName.lastIndexOf('/') + 1).replace('$', '.'));
+                i = end + 1;
+            } else {
+                result.append(primitive(type));
+                i++;
+            }
+            for (int a = 0; a < arrays; a++) {
+                result.append("[]");
+            }
+        }
+        return result.append(')').toString();
+    }
+
+    private static String primitive(char descriptor) {
+        switch (descriptor) {
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            default:
+                throw new IllegalArgumentException("Unknown type descriptor " + descriptor);
+        }
+    }
+}
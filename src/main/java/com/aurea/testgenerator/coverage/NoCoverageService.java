@@ -15,7 +15,7 @@ public class NoCoverageService implements CoverageService {
     }
 
     private MethodCoverage getMethodCoverage(CallableDeclaration methodDeclaration) {
-        long count = NodeLocCounter.count(methodDeclaration);
+        long count = NodeLocCounter.cached(methodDeclaration);
         assert count < Integer.MAX_VALUE;
         return new MethodCoverage(methodDeclaration.getNameAsString(), 0, 0, 0, (int) count);
     }
@@ -1,8 +1,12 @@
 package com.aurea.testgenerator.coverage;
 
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.LiteralExpr;
 import com.github.javaparser.ast.expr.VariableDeclarationExpr;
@@ -16,18 +20,24 @@ import com.github.javaparser.ast.stmt.TryStmt;
 import com.github.javaparser.ast.stmt.WhileStmt;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * Taken from loc-counter with little to no refactoring:
+ * Based on loc-counter:
  * https://github.com/trilogy-group/loc-counter/blob/master/src/main/java/com/aurea/loccounter/implementation/NodeLocCounter.java
+ * <p>
+ * Every node adds a fixed amount to the lines of all its ancestors, so a single traversal yields the lines of every
+ * node. {@link #cached(Node)} counts a whole unit once and keeps the lines of its types and callables on the unit.
  */
 public class NodeLocCounter {
 
+    private static final DataKey<Map<Node, Long>> LOC_KEY = new DataKey<Map<Node, Long>>() {
+    };
+
     private static final List<Predicate<Node>> IS_INSIGNIFICANT_BLOCKSTMT_CONDITIONS = Arrays
             .asList(
                     p -> p instanceof MethodDeclaration && !((MethodDeclaration) p).getType().isVoidType(),
@@ -43,43 +53,64 @@ public class NodeLocCounter {
     }
 
     public static long count(List<Node> nodes) {
-        long count = countRecursively(nodes);
-        count += nodes.stream().map(Node::getChildNodes).mapToLong(NodeLocCounter::count).sum();
+        long count = 0;
+        for (Node node : nodes) {
+            count += ownLines(node) + count(node);
+        }
         return count;
     }
 
-    private static long countRecursively(List<Node> nodes) {
-        long statements = significantStatements(nodes).count();
-        long blockStatements = blockStatements(nodes).mapToLong(NodeLocCounter::calculateBlockStmt).sum();
-
-        final Map<Boolean, List<VariableDeclarator>> variablesByScope = variableDeclarators(nodes)
-                .collect(Collectors.partitioningBy(NodeLocCounter::isField));
-        final List<VariableDeclarator> fieldDeclarations = variablesByScope.get(true);
-        final List<VariableDeclarator> variableDeclarations = variablesByScope.get(false);
-        long fields = fieldDeclarations.stream()
-                .filter(NodeLocCounter::isSignificantFieldDeclaration).count();
-        long insignificantVariables = variableDeclarations.stream()
-                .filter(NodeLocCounter::isInsignficantVariableDeclaration).count();
-        return statements + blockStatements + fields - insignificantVariables;
-    }
-
-    private static Stream<Node> significantStatements(List<Node> nodes) {
-        return nodes.stream()
-                .filter(x -> x instanceof Statement &&
-                        !(x instanceof BlockStmt) &&
-                        !(x instanceof TryStmt));
+    /**
+     * Same as {@link #count(Node)}, answered from the lines of the enclosing unit for its types and callables.
+     */
+    public static long cached(Node node) {
+        Optional<CompilationUnit> cu = node.findCompilationUnit();
+        if (!cu.isPresent()) {
+            return count(node);
+        }
+        Map<Node, Long> lines;
+        synchronized (cu.get()) {
+            if (!cu.get().containsData(LOC_KEY)) {
+                Map<Node, Long> unitLines = new IdentityHashMap<>();
+                unitLines.put(cu.get(), countAndRecord(cu.get(), unitLines));
+                cu.get().setData(LOC_KEY, unitLines);
+            }
+            lines = cu.get().getData(LOC_KEY);
+        }
+        Long count = lines.get(node);
+        return count != null ? count : count(node);
     }
 
-    private static Stream<BlockStmt> blockStatements(List<Node> nodes) {
-        return nodes.stream()
-                .filter(x -> x instanceof BlockStmt)
-                .map(BlockStmt.class::cast);
+    private static long countAndRecord(Node node, Map<Node, Long> lines) {
+        long count = 0;
+        for (Node child : node.getChildNodes()) {
+            long childCount = countAndRecord(child, lines);
+            if (child instanceof CallableDeclaration || child instanceof TypeDeclaration) {
+                lines.put(child, childCount);
+            }
+            count += ownLines(child) + childCount;
+        }
+        return count;
     }
 
-    private static Stream<VariableDeclarator> variableDeclarators(List<Node> nodes) {
-        return nodes.stream()
-                .filter(x -> x instanceof VariableDeclarator)
-                .map(VariableDeclarator.class::cast);
+    /**
+     * Lines a node adds to each of its ancestors.
+     */
+    private static long ownLines(Node node) {
+        if (node instanceof BlockStmt) {
+            return calculateBlockStmt((BlockStmt) node);
+        }
+        if (node instanceof Statement) {
+            return node instanceof TryStmt ? 0 : 1;
+        }
+        if (node instanceof VariableDeclarator) {
+            VariableDeclarator variableDeclarator = (VariableDeclarator) node;
+            if (isField(variableDeclarator)) {
+                return isSignificantFieldDeclaration(variableDeclarator) ? 1 : 0;
+            }
+            return isInsignficantVariableDeclaration(variableDeclarator) ? -1 : 0;
+        }
+        return 0;
     }
 
     private static boolean isSignificantFieldDeclaration(VariableDeclarator variableDeclarator) {
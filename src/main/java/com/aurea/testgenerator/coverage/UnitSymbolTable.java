@@ -0,0 +1,126 @@
+package com.aurea.testgenerator.coverage;
+
+import com.aurea.testgenerator.ast.ASTNodeUtils;
+import com.aurea.testgenerator.source.Unit;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.Name;
+import com.github.javaparser.ast.type.TypeParameter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.aurea.testgenerator.ast.ASTNodeUtils.findAncestorSubTypeOf;
+
+/**
+ * Names JacocoCoverageService needs to turn source types into JaCoCo class and method names, collected once per unit:
+ * imported names, members of top level types, nested type names per top level type and type parameter bounds per type.
+ */
+final class UnitSymbolTable {
+
+    private static final DataKey<UnitSymbolTable> SYMBOL_TABLE_KEY = new DataKey<UnitSymbolTable>() {
+    };
+
+    private final Map<String, String> importedTypes = new HashMap<>();
+    private final Map<String, String> importedNestedTypes = new HashMap<>();
+    private final Map<TypeDeclaration, String> topLevelMembers = new IdentityHashMap<>();
+    private final Map<TypeDeclaration, Map<String, String>> nestedTypes = new IdentityHashMap<>();
+    private final Map<TypeDeclaration, Map<String, String>> typeParameterBounds = new IdentityHashMap<>();
+
+    private UnitSymbolTable(CompilationUnit cu) {
+        for (ImportDeclaration importDeclaration : cu.getImports()) {
+            Name name = importDeclaration.getName();
+            importedTypes.putIfAbsent(name.getIdentifier(), name.asString());
+            boolean nestedClassImport = name.getQualifier()
+                    .map(qualifier -> Character.isUpperCase(qualifier.getIdentifier().charAt(0)))
+                    .orElse(false);
+            if (nestedClassImport) {
+                importedNestedTypes.putIfAbsent(name.getIdentifier(), name.asString());
+            }
+        }
+        for (TypeDeclaration<?> topLevel : cu.getTypes()) {
+            for (Node member : topLevel.getMembers()) {
+                if (member instanceof TypeDeclaration) {
+                    topLevelMembers.putIfAbsent((TypeDeclaration) member, topLevel.getNameAsString());
+                }
+            }
+        }
+    }
+
+    static UnitSymbolTable of(Unit unit) {
+        CompilationUnit cu = unit.getCu();
+        synchronized (cu) {
+            if (!cu.containsData(SYMBOL_TABLE_KEY)) {
+                cu.setData(SYMBOL_TABLE_KEY, new UnitSymbolTable(cu));
+            }
+            return cu.getData(SYMBOL_TABLE_KEY);
+        }
+    }
+
+    /**
+     * @return "Outer.Name" if a type nested in the same top level type is called {@code name}
+     */
+    synchronized String nestedName(TypeDeclaration type, String name) {
+        TypeDeclaration topLevel = findAncestorSubTypeOf(TypeDeclaration.class, type).orElse(type);
+        return nestedTypes.computeIfAbsent(topLevel, UnitSymbolTable::collectNestedTypes).getOrDefault(name, name);
+    }
+
+    /**
+     * @return the imported name if {@code name} is a nested class imported by name
+     */
+    String importedName(String name) {
+        return importedNestedTypes.getOrDefault(name, name);
+    }
+
+    /**
+     * @return the full name of the first import ending in {@code identifier}, "" if there is none
+     */
+    String importedType(String identifier) {
+        return importedTypes.getOrDefault(identifier, "");
+    }
+
+    /**
+     * @return the name of the top level type declaring {@code type} as a member, "" if there is none
+     */
+    String topLevelTypeOf(TypeDeclaration type) {
+        return topLevelMembers.getOrDefault(type, "");
+    }
+
+    /**
+     * @return type parameters of a class mapped to their first bound, Object if unbounded
+     */
+    synchronized Map<String, String> typeParameterBounds(TypeDeclaration type) {
+        return typeParameterBounds.computeIfAbsent(type, UnitSymbolTable::collectTypeParameterBounds);
+    }
+
+    private static Map<String, String> collectNestedTypes(TypeDeclaration topLevel) {
+        Map<String, String> names = new HashMap<>();
+        for (TypeDeclaration nested : ASTNodeUtils.findChildsSubTypesOf(TypeDeclaration.class, topLevel)) {
+            Optional<Node> parent = nested.getParentNode();
+            if (parent.isPresent() && parent.get() instanceof TypeDeclaration) {
+                names.putIfAbsent(nested.getNameAsString(),
+                        ((TypeDeclaration) parent.get()).getNameAsString() + "." + nested.getNameAsString());
+            }
+        }
+        return names;
+    }
+
+    private static Map<String, String> collectTypeParameterBounds(TypeDeclaration type) {
+        if (!(type instanceof ClassOrInterfaceDeclaration)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> bounds = new HashMap<>();
+        for (TypeParameter typeParameter : ((ClassOrInterfaceDeclaration) type).getTypeParameters()) {
+            bounds.put(typeParameter.getNameAsString(), typeParameter.getTypeBound().isEmpty() ?
+                    "Object" : typeParameter.getTypeBound().get(0).getNameAsString());
+        }
+        return bounds;
+    }
+}
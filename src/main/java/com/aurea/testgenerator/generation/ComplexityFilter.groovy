@@ -0,0 +1,72 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.common.CognitiveComplexityCalculator
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.ast.body.CallableDeclaration
+import com.github.javaparser.ast.body.MethodDeclaration
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Selects methods by cognitive complexity: methods below project.minComplexity are marked as skipped, units with a
+ * method above project.slowPathComplexity are slow and generated after all others. Both are disabled when 0.
+ */
+@Component
+@Log4j2
+class ComplexityFilter {
+
+    final int minComplexity
+    final int slowPathComplexity
+
+    private final LongAdder trivialMethods = new LongAdder()
+    private final LongAdder slowUnits = new LongAdder()
+
+    @Autowired
+    ComplexityFilter(ProjectConfiguration cfg) {
+        this(cfg.minComplexity, cfg.slowPathComplexity)
+    }
+
+    ComplexityFilter(int minComplexity, int slowPathComplexity) {
+        this.minComplexity = minComplexity
+        this.slowPathComplexity = slowPathComplexity
+    }
+
+    static ComplexityFilter disabled() {
+        new ComplexityFilter(0, 0)
+    }
+
+    boolean isSlow(Unit unit) {
+        if (slowPathComplexity <= 0) {
+            return false
+        }
+        boolean slow = CognitiveComplexityCalculator.ofUnit(unit.cu).values().any { it > slowPathComplexity }
+        if (slow) {
+            slowUnits.increment()
+        }
+        slow
+    }
+
+    void select(Unit unit) {
+        if (minComplexity <= 0) {
+            return
+        }
+        CognitiveComplexityCalculator.ofUnit(unit.cu).each { CallableDeclaration callable, Integer complexity ->
+            if (complexity < minComplexity && callable instanceof MethodDeclaration && callable.body.present) {
+                Skips.skip(callable)
+                trivialMethods.increment()
+            }
+        }
+    }
+
+    @PreDestroy
+    void logStats() {
+        if ((minComplexity > 0 || slowPathComplexity > 0) && log.infoEnabled) {
+            log.info "Complexity: ${trivialMethods} methods below ${minComplexity} skipped, ${slowUnits} units above ${slowPathComplexity} generated last"
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.reporting.TestGeneratorResultReporter
+import com.aurea.testgenerator.source.Unit
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.Supplier
+
+/**
+ * Time limits of a run: project.unitTimeout seconds for generating a single unit and project.runTimeout seconds for
+ * the whole run. The symbol solver cannot be interrupted, so the limit is enforced cooperatively: resolution code calls
+ * {@link #checkpoint()}, which throws {@link UnitTimeoutException} on a thread whose unit is out of time.
+ */
+@Component
+@Log4j2
+class GenerationBudget {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>()
+    private static final long NONE = 0
+
+    final long unitTimeoutNanos
+    final long runTimeoutNanos
+    final TestGeneratorResultReporter reporter
+
+    private volatile long runDeadline = NONE
+    private final LongAdder timedOut = new LongAdder()
+    private final LongAdder notScheduled = new LongAdder()
+
+    @Autowired
+    GenerationBudget(ProjectConfiguration cfg, TestGeneratorResultReporter reporter) {
+        this(cfg.unitTimeout, cfg.runTimeout, TimeUnit.SECONDS, reporter)
+    }
+
+    GenerationBudget(long unitTimeout, long runTimeout, TimeUnit timeUnit, TestGeneratorResultReporter reporter) {
+        this.unitTimeoutNanos = timeUnit.toNanos(unitTimeout)
+        this.runTimeoutNanos = timeUnit.toNanos(runTimeout)
+        this.reporter = reporter
+    }
+
+    static GenerationBudget unlimited() {
+        new GenerationBudget(0, 0, TimeUnit.SECONDS, null)
+    }
+
+    /**
+     * Throws {@link UnitTimeoutException} if the unit generated on this thread is past its deadline.
+     */
+    static void checkpoint() {
+        Long deadline = DEADLINE.get()
+        if (deadline != null && System.nanoTime() - deadline > 0) {
+            throw new UnitTimeoutException("Unit generation ran out of time")
+        }
+    }
+
+    void startRun() {
+        runDeadline = runTimeoutNanos > 0 ? deadline(System.nanoTime() + runTimeoutNanos) : NONE
+    }
+
+    /**
+     * @return true once the run is out of time; counts the unit as not scheduled
+     */
+    boolean skipUnit() {
+        if (runDeadline != NONE && System.nanoTime() - runDeadline > 0) {
+            notScheduled.increment()
+            return true
+        }
+        false
+    }
+
+    /**
+     * Generates for the unit within the smaller of the unit and the remaining run budget.
+     *
+     * @return the generation result or {@code onTimeout} if the unit ran out of time
+     */
+    def <T> T generate(Unit unit, Supplier<T> generation, T onTimeout) {
+        long start = System.nanoTime()
+        long deadline = unitTimeoutNanos > 0 ? deadline(start + unitTimeoutNanos) : NONE
+        if (runDeadline != NONE && (deadline == NONE || runDeadline - deadline < 0)) {
+            deadline = runDeadline
+        }
+        if (deadline == NONE) {
+            return generation.get()
+        }
+        DEADLINE.set(deadline)
+        try {
+            return generation.get()
+        } catch (UnitTimeoutException e) {
+            timedOut.increment()
+            log.warn "Gave up on ${unit.fullName} after ${TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)} ms"
+            reporter?.publishTimeout(unit)
+            return onTimeout
+        } finally {
+            DEADLINE.remove()
+        }
+    }
+
+    long getTimedOut() {
+        timedOut.sum()
+    }
+
+    long getNotScheduled() {
+        notScheduled.sum()
+    }
+
+    private static long deadline(long nanos) {
+        nanos == NONE ? nanos + 1 : nanos
+    }
+
+    @PreDestroy
+    void logStats() {
+        if ((unitTimeoutNanos > 0 || runTimeoutNanos > 0) && log.infoEnabled) {
+            log.info "Time budget: ${timedOut} units timed out, ${notScheduled} units not scheduled"
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.source.Unit
+import groovy.transform.Canonical
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.lang.management.ManagementFactory
+import java.lang.management.ThreadMXBean
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.Supplier
+
+import static java.lang.System.lineSeparator
+
+/**
+ * Wall time, CPU time and allocated bytes of every generator on every unit. Totals per generator and the
+ * project.profileTop slowest units and (generator, unit) pairs are logged at shutdown, every pair is streamed to
+ * project.profileCsv as it is recorded if set. CPU time and allocations are only measured where the JVM supports it.
+ */
+@Component
+@Log4j2
+class GenerationProfiler {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.threadMXBean
+    private static final boolean CPU_TIME = THREADS.currentThreadCpuTimeSupported && THREADS.threadCpuTimeEnabled
+    private static final boolean ALLOCATIONS = allocationsSupported()
+    private static final String CSV_HEADER = 'generator,unit,wallNanos,cpuNanos,allocatedBytes'
+
+    final int top
+    final Path csv
+    boolean logReport = true
+
+    private final Map<String, Totals> generators = new ConcurrentHashMap<>()
+    private final Map<String, LongAdder> units = new ConcurrentHashMap<>()
+    private final PriorityQueue<Sample> slowest = new PriorityQueue<>(Comparator.comparingLong { Sample s -> s.wallNanos })
+    private volatile long slowestThreshold = -1
+    private final Object csvLock = new Object()
+    private BufferedWriter csvWriter
+    private boolean csvClosed
+
+    @Autowired
+    GenerationProfiler(ProjectConfiguration cfg) {
+        this(cfg.profileTop, cfg.profileCsvPath)
+        // blank runs log the report as part of the DryRunReport
+        this.logReport = !cfg.blank
+    }
+
+    GenerationProfiler(int top, Path csv) {
+        this.top = top
+        this.csv = csv
+    }
+
+    static GenerationProfiler disabled() {
+        new GenerationProfiler(0, null)
+    }
+
+    boolean isEnabled() {
+        top > 0 || csv
+    }
+
+    def <T> T profile(TestGenerator generator, Unit unit, Supplier<T> generation) {
+        if (!enabled) {
+            return generation.get()
+        }
+        long allocated = allocatedBytes()
+        long cpu = cpuNanos()
+        long start = System.nanoTime()
+        try {
+            return generation.get()
+        } finally {
+            long wall = System.nanoTime() - start
+            record(new Sample(generator.class.simpleName, unit.fullName, wall,
+                    CPU_TIME ? cpuNanos() - cpu : -1, ALLOCATIONS ? allocatedBytes() - allocated : -1))
+        }
+    }
+
+    void record(Sample sample) {
+        generators.computeIfAbsent(sample.generator) { new Totals() }.add(sample)
+        units.computeIfAbsent(sample.unit) { new LongAdder() }.add(sample.wallNanos)
+        if (csv) {
+            writeCsv(sample)
+        }
+        if (top > 0 && sample.wallNanos > slowestThreshold) {
+            synchronized (slowest) {
+                slowest << sample
+                if (slowest.size() > top) {
+                    slowest.poll()
+                }
+                if (slowest.size() == top) {
+                    slowestThreshold = slowest.peek().wallNanos
+                }
+            }
+        }
+    }
+
+    List<Sample> getSlowestPairs() {
+        synchronized (slowest) {
+            slowest.sort { -it.wallNanos }
+        }
+    }
+
+    List<Map.Entry<String, Long>> getSlowestUnits() {
+        units.collect { new AbstractMap.SimpleEntry<String, Long>(it.key, it.value.sum()) }
+             .sort { -it.value }
+             .take(top)
+    }
+
+    @PreDestroy
+    void logStats() {
+        closeCsv()
+        if (generators.isEmpty()) {
+            return
+        }
+        if (top > 0 && logReport && log.infoEnabled) {
+            log.info report()
+        }
+    }
+
+    String report() {
+        StringBuilder text = new StringBuilder(lineSeparator()).append('\tGenerators by wall time (calls, wall ms, cpu ms, allocated MB):')
+        generators.sort { -it.value.wall.sum() }.each { String name, Totals totals ->
+            text.append(lineSeparator()).append(String.format('\t\t%-60s %8d %12s %12s %12s', name, totals.calls.sum(),
+                    millis(totals.wall.sum()), CPU_TIME ? millis(totals.cpu.sum()) : 'n/a',
+                    ALLOCATIONS ? megabytes(totals.allocated.sum()) : 'n/a'))
+        }
+        text.append(lineSeparator()).append("\tSlowest units (wall ms):")
+        slowestUnits.each {
+            text.append(lineSeparator()).append(String.format('\t\t%-80s %12s', it.key, millis(it.value)))
+        }
+        text.append(lineSeparator()).append("\tSlowest generator runs (wall ms):")
+        slowestPairs.each {
+            text.append(lineSeparator()).append(String.format('\t\t%-80s %12s', "$it.generator on $it.unit", millis(it.wallNanos)))
+        }
+        text.toString()
+    }
+
+    private void writeCsv(Sample sample) {
+        synchronized (csvLock) {
+            if (csvClosed) {
+                return
+            }
+            try {
+                if (csvWriter == null) {
+                    if (csv.parent) {
+                        Files.createDirectories(csv.parent)
+                    }
+                    csvWriter = Files.newBufferedWriter(csv)
+                    csvWriter.write(CSV_HEADER)
+                    csvWriter.newLine()
+                }
+                csvWriter.write("$sample.generator,$sample.unit,$sample.wallNanos,$sample.cpuNanos,$sample.allocatedBytes")
+                csvWriter.newLine()
+            } catch (IOException e) {
+                csvClosed = true
+                log.error "Failed to write profile to $csv", e
+            }
+        }
+    }
+
+    private void closeCsv() {
+        synchronized (csvLock) {
+            try {
+                csvWriter?.close()
+            } catch (IOException e) {
+                log.error "Failed to write profile to $csv", e
+            }
+            csvClosed = true
+        }
+    }
+
+    private static String millis(long nanos) {
+        String.format('%.1f', nanos / (double) TimeUnit.MILLISECONDS.toNanos(1))
+    }
+
+    private static String megabytes(long bytes) {
+        String.format('%.1f', bytes / (1024d * 1024d))
+    }
+
+    private static long cpuNanos() {
+        CPU_TIME ? THREADS.currentThreadCpuTime : 0
+    }
+
+    private static long allocatedBytes() {
+        ALLOCATIONS ? ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().id) : 0
+    }
+
+    private static boolean allocationsSupported() {
+        try {
+            return THREADS instanceof com.sun.management.ThreadMXBean &&
+                    ((com.sun.management.ThreadMXBean) THREADS).threadAllocatedMemorySupported &&
+                    ((com.sun.management.ThreadMXBean) THREADS).threadAllocatedMemoryEnabled
+        } catch (NoClassDefFoundError ignored) {
+            return false
+        }
+    }
+
+    @Canonical
+    static class Sample {
+        String generator
+        String unit
+        long wallNanos
+        long cpuNanos
+        long allocatedBytes
+    }
+
+    private static class Totals {
+        final LongAdder calls = new LongAdder()
+        final LongAdder wall = new LongAdder()
+        final LongAdder cpu = new LongAdder()
+        final LongAdder allocated = new LongAdder()
+
+        void add(Sample sample) {
+            calls.increment()
+            wall.add(sample.wallNanos)
+            cpu.add(sample.cpuNanos)
+            allocated.add(sample.allocatedBytes)
+        }
+    }
+}
@@ -35,6 +35,10 @@ abstract class MethodLevelTestGenerator<T extends CallableDeclaration> implement
     }
 
     void visit(T callableDeclaration, Unit unit, List<TestGeneratorResult> results) {
+        if (Skips.isSkipped(callableDeclaration)) {
+            return
+        }
+        GenerationBudget.checkpoint()
         if (shouldBeVisited(unit, callableDeclaration)) {
             try {
                 TestGeneratorResult result = generate(callableDeclaration, unit)
@@ -44,6 +48,8 @@ abstract class MethodLevelTestGenerator<T extends CallableDeclaration> implement
                 reporter.publish(result, unit, callableDeclaration)
                 coverageReporter.report(unit, result, callableDeclaration)
                 results << result
+            } catch (UnitTimeoutException e) {
+                throw e
             } catch (Exception e) {
                 log.error "Unhandled error while generating for $unit.fullName", e
                 coverageReporter.reportFailure(unit, callableDeclaration)
@@ -31,7 +31,9 @@ abstract class MethodLevelTestGeneratorWithClassContext<T extends CallableDeclar
                     return
                 }
                 super.visit(classOrInterfaceDeclaration, javaParserFacade)
-                visitClass(classOrInterfaceDeclaration, results)
+                if (!Skips.isSkipped(classOrInterfaceDeclaration)) {
+                    visitClass(classOrInterfaceDeclaration, results)
+                }
             }
         }
     }
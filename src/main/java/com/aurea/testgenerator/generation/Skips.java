@@ -0,0 +1,25 @@
+package com.aurea.testgenerator.generation;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+
+/**
+ * Types and callables of a unit under test that generators leave alone, marked on the nodes by the pipeline stages
+ * that select what to generate for.
+ */
+public final class Skips {
+
+    private static final DataKey<Boolean> SKIPPED_KEY = new DataKey<Boolean>() {
+    };
+
+    private Skips() {
+    }
+
+    public static void skip(Node node) {
+        node.setData(SKIPPED_KEY, true);
+    }
+
+    public static boolean isSkipped(Node node) {
+        return node.containsData(SKIPPED_KEY);
+    }
+}
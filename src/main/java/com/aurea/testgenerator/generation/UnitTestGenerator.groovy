@@ -5,7 +5,9 @@ import com.aurea.testgenerator.generation.ast.TestUnit
 import com.aurea.testgenerator.generation.names.NomenclatureFactory
 import com.aurea.testgenerator.generation.names.TestClassNomenclature
 import com.aurea.testgenerator.generation.source.Imports
+import com.aurea.testgenerator.reporting.DryRunReport
 import com.aurea.testgenerator.source.Unit
+import com.aurea.testgenerator.value.random.UnitRandom
 import com.github.javaparser.ast.CompilationUnit
 import com.github.javaparser.ast.Modifier
 import com.github.javaparser.ast.NodeList
@@ -15,6 +17,7 @@ import groovy.util.logging.Log4j2
 import one.util.streamex.StreamEx
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
+import org.springframework.util.ClassUtils
 
 @Component
 @Log4j2
@@ -23,10 +26,22 @@ class UnitTestGenerator {
     List<TestGenerator> generators
     NomenclatureFactory nomenclatureFactory
 
-    @Autowired
+    GenerationProfiler profiler
+    DryRunReport dryRunReport
+
     UnitTestGenerator(List<TestGenerator> generators, NomenclatureFactory nomenclatureFactory) {
+        this(generators, nomenclatureFactory, GenerationProfiler.disabled(), DryRunReport.disabled())
+    }
+
+    @Autowired
+    UnitTestGenerator(List<TestGenerator> generators,
+                      NomenclatureFactory nomenclatureFactory,
+                      GenerationProfiler profiler,
+                      DryRunReport dryRunReport) {
         this.generators = generators
         this.nomenclatureFactory = nomenclatureFactory
+        this.profiler = profiler
+        this.dryRunReport = dryRunReport
         log.info "Registered generators: ${this.generators.collect {it.class.simpleName}}"
     }
 
@@ -41,8 +56,11 @@ class UnitTestGenerator {
         markAsGenerated(testClass, testCu)
         Unit test = new Unit(testCu, new JavaClass(pd.nameAsString, testName), null)
         TestUnit testUnit = new TestUnit(test)
-        List<TestGeneratorResult> testGeneratorResults = StreamEx.of(generators).flatMap {
-            it.generate(unitUnderTest).stream()
+        List<TestGeneratorResult> testGeneratorResults = StreamEx.of(generators).flatMap { generator ->
+            UnitRandom.reseed("${unitUnderTest.fullName}:${ClassUtils.getUserClass(generator).name}")
+            Collection<TestGeneratorResult> results = profiler.profile(generator, unitUnderTest) { generator.generate(unitUnderTest) }
+            dryRunReport.record(generator, unitUnderTest, results)
+            results.stream()
         }.toList()
 
         testUnit.addTestsAndDependencies(StreamEx.of(testGeneratorResults).flatMap { it.tests.stream() }.toList())
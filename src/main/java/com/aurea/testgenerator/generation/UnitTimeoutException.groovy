@@ -0,0 +1,10 @@
+package com.aurea.testgenerator.generation
+
+/**
+ * Thrown by {@link GenerationBudget#checkpoint()} once the unit generated on the current thread ran out of time.
+ */
+class UnitTimeoutException extends GenerationException {
+    UnitTimeoutException(String message) {
+        super(message)
+    }
+}
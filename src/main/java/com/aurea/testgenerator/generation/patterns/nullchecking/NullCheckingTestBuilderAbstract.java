@@ -4,8 +4,8 @@ import com.aurea.testgenerator.generation.ast.DependableNode;
 import com.aurea.testgenerator.generation.merge.TestNodeMerger;
 import com.aurea.testgenerator.generation.source.Imports;
 import com.aurea.testgenerator.value.ValueFactory;
+import com.aurea.testgenerator.value.random.UnitRandom;
 import com.github.javaparser.JavaParser;
-import org.apache.commons.lang.RandomStringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public abstract class NullCheckingTestBuilderAbstract implements NullCheckingTestBuilder {
@@ -18,7 +18,7 @@ public abstract class NullCheckingTestBuilderAbstract implements NullCheckingTes
     }
 
     protected String postfix() {
-        return "_" + RandomStringUtils.random(6, true, true);
+        return "_" + UnitRandom.alphanumeric(6);
     }
 
     protected DependableNode buidTest(DependableNode node, String test, DependableNode callable) {
@@ -4,6 +4,7 @@ import static com.aurea.testgenerator.generation.patterns.nullchecking.NullCheck
 import static java.util.stream.Collectors.toList;
 
 import com.aurea.testgenerator.ast.Callability;
+import com.aurea.testgenerator.generation.Skips;
 import com.aurea.testgenerator.generation.TestGenerator;
 import com.aurea.testgenerator.generation.TestGeneratorResult;
 import com.aurea.testgenerator.reporting.CoverageReporter;
@@ -96,17 +97,17 @@ public class NullCheckingTestGenerator implements TestGenerator {
     }
 
     private boolean constructorMatch(ConstructorDeclaration constructorDeclaration) {
-        return !constructorDeclaration.getParameters().isEmpty() && !constructorDeclaration.getBody().isEmpty();
+        return !Skips.isSkipped(constructorDeclaration) && !constructorDeclaration.getParameters().isEmpty() && !constructorDeclaration.getBody().isEmpty();
     }
 
     private boolean methodMatch(MethodDeclaration methodDeclaration) {
-        return !methodDeclaration.getParameters().isEmpty() && methodDeclaration.getBody().isPresent()
+        return !Skips.isSkipped(methodDeclaration) && !methodDeclaration.getParameters().isEmpty() && methodDeclaration.getBody().isPresent()
                 && !methodDeclaration.getBody().get().isEmpty();
     }
 
     private List<ClassOrInterfaceDeclaration> extractClasses(Unit unit) {
         return unit.getCu().findAll(ClassOrInterfaceDeclaration.class).stream()
-                .filter(c -> !c.isInterface()).collect(toList());
+                .filter(c -> !c.isInterface() && !Skips.isSkipped(c)).collect(toList());
     }
 
     private void publishAndAdd(TestGeneratorResult testGeneratorResult, Unit unit,
@@ -2,6 +2,7 @@ package com.aurea.testgenerator.generation.patterns.pojos
 
 import com.aurea.testgenerator.ast.ASTNodeUtils
 import com.aurea.testgenerator.ast.Callability
+import com.aurea.testgenerator.generation.Skips
 import com.aurea.testgenerator.generation.TestGenerator
 import com.aurea.testgenerator.generation.TestGeneratorError
 import com.aurea.testgenerator.generation.TestGeneratorResult
@@ -21,6 +22,7 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
 import com.github.javaparser.ast.body.ConstructorDeclaration
 import com.github.javaparser.ast.body.MethodDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration
 import groovy.util.logging.Log4j2
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.annotation.Profile
@@ -56,7 +58,7 @@ class OpenPojoTestGenerator implements TestGenerator {
     @Override
     Collection<TestGeneratorResult> generate(Unit unit) {
         List<ClassOrInterfaceDeclaration> classes = unit.cu.findAll(ClassOrInterfaceDeclaration).findAll {
-            !it.interface
+            !it.interface && !Skips.isSkipped(it)
         }
         TestMethodNomenclature testMethodNomenclature = nomenclatures.getTestMethodNomenclature(unit.javaClass)
 
@@ -65,23 +67,25 @@ class OpenPojoTestGenerator implements TestGenerator {
             TestGeneratorResult result = new TestGeneratorResult()
             result.type = OPEN_POJO
             if (Callability.isInstantiable(classDeclaration) && Pojos.isPojo(classDeclaration)) {
-                if (Pojos.getGetters(classDeclaration)) {
+                List<ResolvedMethodDeclaration> getters = notSkipped(Pojos.getGetters(classDeclaration))
+                if (getters) {
                     def test = buildTest(classDeclaration, testMethodNomenclature, POJO_GETTER_TESTER_NAME, OPEN_POJO_GETTER)
-                    publishAndAddResolved(test, tests, unit, Pojos.getGetters(classDeclaration))
+                    publishAndAddResolved(test, tests, unit, getters)
                 }
 
-                if (Pojos.getSetters(classDeclaration)) {
+                List<ResolvedMethodDeclaration> setters = notSkipped(Pojos.getSetters(classDeclaration))
+                if (setters) {
                     def test = buildTest(classDeclaration, testMethodNomenclature, POJO_SETTER_TESTER_NAME, OPEN_POJO_SETTER)
-                    publishAndAddResolved(test, tests, unit, Pojos.getSetters(classDeclaration))
+                    publishAndAddResolved(test, tests, unit, setters)
                 }
 
-                Pojos.tryGetToStringMethod(classDeclaration).ifPresent { toStringMethod ->
+                Pojos.tryGetToStringMethod(classDeclaration).filter { !Skips.isSkipped(it) }.ifPresent { toStringMethod ->
                     def test = buildTest(classDeclaration, testMethodNomenclature, POJO_TO_STRING_TESTER_NAME, OPEN_POJO_TO_STRING)
                     publishAndAdd(test, tests, unit, toStringMethod)
                 }
 
-                Optional<MethodDeclaration> maybeEqualsMethod = Pojos.tryGetEqualsMethod(classDeclaration)
-                Optional<MethodDeclaration> maybeHashCodeMethod = Pojos.tryGetHashCodeMethod(classDeclaration)
+                Optional<MethodDeclaration> maybeEqualsMethod = Pojos.tryGetEqualsMethod(classDeclaration).filter { !Skips.isSkipped(it) }
+                Optional<MethodDeclaration> maybeHashCodeMethod = Pojos.tryGetHashCodeMethod(classDeclaration).filter { !Skips.isSkipped(it) }
                 if (maybeEqualsMethod.present || maybeHashCodeMethod.present) {
                     List<MethodDeclaration> methods = new ArrayList<>(2)
                     maybeEqualsMethod.ifPresent { methods << it }
@@ -91,7 +95,7 @@ class OpenPojoTestGenerator implements TestGenerator {
                     publishAndAdd(test, tests, unit, methods)
                 }
 
-                List<ConstructorDeclaration> constructors = classDeclaration.constructors
+                List<ConstructorDeclaration> constructors = classDeclaration.constructors.findAll { !Skips.isSkipped(it) }
                 if (constructors) {
                     def test = buildTest(classDeclaration, testMethodNomenclature, POJO_CONSTRUCTOR_TESTER_NAME, OPEN_POJO_CONSTRUCTORS)
                     publishAndAdd(test, tests, unit, constructors)
@@ -103,6 +107,10 @@ class OpenPojoTestGenerator implements TestGenerator {
         tests
     }
 
+    private static List<ResolvedMethodDeclaration> notSkipped(List<ResolvedMethodDeclaration> methods) {
+        methods.findAll { !(it instanceof JavaParserMethodDeclaration && Skips.isSkipped(it.wrappedNode)) }
+    }
+
     private void publishAndAdd(TestGeneratorResult testGeneratorResult,
                                List<TestGeneratorResult> results,
                                Unit unit,
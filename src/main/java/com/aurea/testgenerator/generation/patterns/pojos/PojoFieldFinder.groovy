@@ -1,10 +1,10 @@
 package com.aurea.testgenerator.generation.patterns.pojos
 
+import com.aurea.testgenerator.value.Resolution
 import com.aurea.testgenerator.value.Types
 import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedTypeDeclaration
-import com.jasongoodwin.monads.Try
 import groovy.transform.Canonical
 import one.util.streamex.StreamEx
 import org.apache.commons.lang.StringUtils
@@ -13,7 +13,7 @@ import org.apache.commons.lang.StringUtils
 abstract class PojoFieldFinder {
 
     static Optional<ResolvedFieldDeclaration> findSetterField(ResolvedMethodDeclaration method) {
-        Try.ofFailable {
+        Resolution.attempt {
             if (method.numberOfParams == 1 && Types.isBooleanType(method.getParam(0).getType()) && validPrefix(method.name, 'set')) {
                 def expectedName = method.name.replaceFirst('set', 'is')
                 Optional<ResolvedFieldDeclaration> maybeField = findFieldWithName(method, expectedName)
@@ -27,7 +27,7 @@ abstract class PojoFieldFinder {
     }
 
     static Optional<ResolvedFieldDeclaration> findGetterField(ResolvedMethodDeclaration method) {
-        Try.ofFailable {
+        Resolution.attempt {
             if (Types.isBooleanType(method.getReturnType())) {
                 if (validPrefix(method.name, 'is')) {
                     String expectedName = removePrefix(method.name, 'is')
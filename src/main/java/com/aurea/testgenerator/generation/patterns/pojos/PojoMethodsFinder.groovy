@@ -1,10 +1,10 @@
 package com.aurea.testgenerator.generation.patterns.pojos
 
+import com.aurea.testgenerator.value.Resolution
 import com.aurea.testgenerator.value.Types
 import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedTypeDeclaration
-import com.jasongoodwin.monads.Try
 import groovy.util.logging.Log4j2
 import one.util.streamex.StreamEx
 
@@ -17,7 +17,7 @@ import static com.aurea.testgenerator.value.Types.areSameOrBoxedSame
 class PojoMethodsFinder {
 
     static Optional<ResolvedMethodDeclaration> findGetterMethod(ResolvedFieldDeclaration fieldDeclaration) {
-        Try.ofFailable {
+        Resolution.attempt {
             if (Types.isBooleanType(fieldDeclaration.getType())) {
                 def expectedGetterName = fieldDeclaration.name
                 if (!validPrefix(expectedGetterName, 'is')) {
@@ -35,7 +35,7 @@ class PojoMethodsFinder {
     }
 
     static Optional<ResolvedMethodDeclaration> findSetterMethod(ResolvedFieldDeclaration fieldDeclaration) {
-        Try.ofFailable {
+        Resolution.attempt {
             String fieldName = fieldDeclaration.name
             if (Types.isBooleanType(fieldDeclaration.getType()) && validPrefix(fieldName, 'is')) {
 
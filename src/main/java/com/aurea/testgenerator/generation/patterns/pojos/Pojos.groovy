@@ -1,5 +1,6 @@
 package com.aurea.testgenerator.generation.patterns.pojos
 
+import com.aurea.testgenerator.ast.ResolutionMemo
 import com.aurea.testgenerator.value.Resolution
 import com.github.javaparser.ast.AccessSpecifier
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
@@ -10,14 +11,14 @@ import com.github.javaparser.ast.stmt.Statement
 import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration
 import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration
-import com.jasongoodwin.monads.Try
-import groovy.transform.Memoized
 import groovy.util.logging.Log4j2
 import one.util.streamex.StreamEx
 
 @Log4j2
 class Pojos {
 
+    private static final String RESOLVED_FIELDS = 'pojoFields'
+
     static boolean isPojo(ClassOrInterfaceDeclaration classDeclaration) {
         getGetters(classDeclaration) ||
                 tryGetToStringMethod(classDeclaration).present ||
@@ -60,16 +61,21 @@ class Pojos {
                 *.get()
     }
 
-    @Memoized
+    /**
+     * Memoized per declaration rather than with @Memoized, which compares nodes structurally and would hand the fields
+     * of an identical class in another unit, and so another unit's skip marks, to this one.
+     */
     private static List<ResolvedFieldDeclaration> resolvedFields(ClassOrInterfaceDeclaration classDeclaration) {
-        classDeclaration.fields
-                .collect { Resolution.tryResolve(it) }
-                .findAll { it.present }
-                *.get()
+        ResolutionMemo.memoize(classDeclaration, RESOLVED_FIELDS) {
+            classDeclaration.fields
+                    .collect { Resolution.tryResolve(it) }
+                    .findAll { it.present }
+                    *.get()
+        }
     }
 
     static boolean isSetterSignature(ResolvedMethodDeclaration resolvedMethod) {
-        Try.ofFailable {
+        Resolution.attempt {
             resolvedMethod.accessSpecifier() != AccessSpecifier.PRIVATE &&
                     resolvedMethod.returnType.isVoid() &&
                     resolvedMethod.getNumberOfParams() == 1 &&
@@ -2,6 +2,7 @@ package com.aurea.testgenerator.generation.patterns.springcontrollers
 
 import com.aurea.testgenerator.generation.annotations.AnnotationsProcessor
 import com.aurea.testgenerator.generation.methods.MethodsUtils
+import com.aurea.testgenerator.value.Resolution
 import com.github.javaparser.ast.Node
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
 import com.github.javaparser.ast.body.MethodDeclaration
@@ -13,7 +14,6 @@ import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations
 import com.github.javaparser.ast.stmt.ReturnStmt
 import com.github.javaparser.resolution.UnsolvedSymbolException
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration
-import com.jasongoodwin.monads.Try
 import groovy.util.logging.Log4j2
 import org.apache.commons.lang3.StringUtils
 
@@ -83,12 +83,12 @@ class SpringControllerUtils {
         if (methodDeclaration.type.isVoidType()){
             return true
         }
-        Try.ofFailable { methodDeclaration.type.resolve() == methodCallExpr.calculateResolvedType() }
+        Resolution.attempt { methodDeclaration.type.resolve() == methodCallExpr.calculateResolvedType() }
                 .orElse(false)
     }
 
     private static boolean callsDelegate(MethodCallExpr methodCallExpr) {
-        Try.ofFailable {
+        Resolution.attempt {
             methodCallExpr.scope.map { it.isNameExpr() && it.asNameExpr().resolve().isField() }.orElse(false)
         }.onFailure {
             log.error("Unresoolvable return type for method $methodCallExpr", it)
@@ -146,7 +146,7 @@ class AssignmentCheckStaticFactoryMethodTestGenerator extends AbstractMethodTest
     private static boolean isC0(MethodDeclaration method) {
         return !method.abstract &&
                 method.body.present &&
-                CognitiveComplexityCalculator.calculate(method) == 0
+                CognitiveComplexityCalculator.cached(method) == 0
     }
 
     private static boolean hasOnlySetterCalls(MethodDeclaration method) {
@@ -105,7 +105,7 @@ class DifferentInstancesStaticFactoryMethodTestGenerator extends AbstractMethodT
     private static boolean isC0(MethodDeclaration method) {
         return !method.abstract &&
                 method.body.present &&
-                CognitiveComplexityCalculator.calculate(method) == 0
+                CognitiveComplexityCalculator.cached(method) == 0
     }
 
     private static boolean hasOnlySetterCalls(MethodDeclaration method) {
@@ -0,0 +1,52 @@
+package com.aurea.testgenerator.incremental;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Collects files touched by the symbol solver on the current thread while a unit is being generated, and the type
+ * names it failed to resolve: a source or jar added later may define them.
+ */
+public final class DependencyTracker {
+
+    private static final ThreadLocal<Dependencies> DEPENDENCIES = new ThreadLocal<>();
+
+    private DependencyTracker() {
+    }
+
+    public static <T> T track(Dependencies dependencies, Supplier<T> action) {
+        Dependencies outer = DEPENDENCIES.get();
+        DEPENDENCIES.set(dependencies);
+        try {
+            return action.get();
+        } finally {
+            if (outer == null) {
+                DEPENDENCIES.remove();
+            } else {
+                DEPENDENCIES.set(outer);
+            }
+        }
+    }
+
+    static void touched(Path file) {
+        Dependencies dependencies = DEPENDENCIES.get();
+        if (dependencies != null) {
+            dependencies.files.add(file);
+        }
+    }
+
+    public static void unresolved(String typeName) {
+        Dependencies dependencies = DEPENDENCIES.get();
+        if (dependencies != null) {
+            dependencies.unresolved.add(typeName);
+        }
+    }
+
+    public static final class Dependencies {
+        final Set<Path> files = new HashSet<>();
+        final Set<String> unresolved = new TreeSet<>();
+    }
+}
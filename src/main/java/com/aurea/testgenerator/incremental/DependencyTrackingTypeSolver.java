@@ -0,0 +1,76 @@
+package com.aurea.testgenerator.incremental;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reports to {@link DependencyTracker} the jar or source file that resolved a type.
+ */
+public class DependencyTrackingTypeSolver implements TypeSolver {
+
+    private final TypeSolver delegate;
+    private final Function<String, Optional<Path>> origin;
+
+    private DependencyTrackingTypeSolver(TypeSolver delegate, Function<String, Optional<Path>> origin) {
+        this.delegate = delegate;
+        this.origin = origin;
+    }
+
+    public static TypeSolver ofSourceRoot(TypeSolver delegate, Path root) {
+        Map<String, Optional<Path>> sourceFiles = new ConcurrentHashMap<>();
+        return new DependencyTrackingTypeSolver(delegate,
+                name -> sourceFiles.computeIfAbsent(name, n -> findSourceFile(root, n)));
+    }
+
+    /**
+     * @param jarOf the jar holding a solved type
+     */
+    public static TypeSolver ofJars(TypeSolver delegate, Function<String, Optional<Path>> jarOf) {
+        return new DependencyTrackingTypeSolver(delegate, jarOf);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return delegate.getParent();
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        delegate.setParent(parent);
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = delegate.tryToSolveType(name);
+        if (reference.isSolved()) {
+            origin.apply(name).ifPresent(DependencyTracker::touched);
+        }
+        return reference;
+    }
+
+    private static Optional<Path> findSourceFile(Path root, String name) {
+        String candidate = name;
+        while (!candidate.isEmpty()) {
+            Path file = root.resolve(candidate.replace('.', '/') + ".java");
+            if (Files.isRegularFile(file)) {
+                return Optional.of(file);
+            }
+            int lastDot = candidate.lastIndexOf('.');
+            candidate = lastDot < 0 ? "" : candidate.substring(0, lastDot);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package com.aurea.testgenerator.incremental
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.generation.TestGenerator
+import com.aurea.testgenerator.generation.ast.TestUnit
+import com.aurea.testgenerator.source.SourceFilter
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
+import com.google.common.hash.Hasher
+import com.google.common.hash.Hashing
+import com.google.common.io.Files as GuavaFiles
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.env.Environment
+import org.springframework.stereotype.Component
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.Supplier
+import java.util.stream.Stream
+
+/**
+ * Skips units whose source, generators, resolved dependencies and previously written test did not change since the
+ * last run, and whose unresolved type names still resolve to nothing, so a new source or jar defining one of them
+ * regenerates the unit. The fingerprint of a run covers the tool and generator code, active profiles and every setting that changes
+ * the generated tests. Disabled unless project.incremental is set; blank runs never touch the manifest.
+ */
+@Component
+@Log4j2
+class IncrementalGeneration {
+
+    final boolean enabled
+    final Path src
+    final Path manifestPath
+    final Manifest previous
+    final Manifest current
+    final TypeSolver solver
+
+    private final Map<Path, String> sourceHashes = new ConcurrentHashMap<>()
+    private final Map<String, String> dependencyFingerprints = new ConcurrentHashMap<>()
+    private final Set<String> skipped = ConcurrentHashMap.newKeySet()
+    private final LongAdder regenerated = new LongAdder()
+    private final Map<Path, DependencyTracker.Dependencies> touchedDependencies = new ConcurrentHashMap<>()
+
+    @Autowired
+    IncrementalGeneration(ProjectConfiguration cfg,
+                          List<TestGenerator> generators,
+                          Environment environment,
+                          TypeSolver solver) {
+        this.enabled = cfg.incremental && !cfg.blank
+        this.src = cfg.srcPath
+        this.solver = solver
+        this.manifestPath = enabled ? cfg.manifestPath : null
+        String fingerprint = enabled ? fingerprint(generators, environment.activeProfiles, cfg) : ''
+        this.current = new Manifest(fingerprint)
+        this.previous = enabled ? Manifest.load(manifestPath) : current
+        if (enabled && previous.fingerprint && previous.fingerprint != fingerprint) {
+            log.info "Generators, tool or settings changed since the last run, all units will be regenerated"
+        }
+    }
+
+    SourceFilter changedSources() {
+        return { Path path -> !isUnchanged(path) } as SourceFilter
+    }
+
+    boolean isUnchanged(Path source) {
+        if (!enabled || previous.fingerprint != current.fingerprint) {
+            return false
+        }
+        String key = toKey(source)
+        Optional<ManifestEntry> entry = previous.get(key)
+        boolean unchanged = entry.present &&
+                entry.get().sourceHash == sourceHash(source) &&
+                areDependenciesUpToDate(entry.get()) &&
+                entry.get().unresolved.every { isStillUnresolved(it) } &&
+                isTestUpToDate(entry.get())
+        if (unchanged) {
+            skipped.add(key)
+            current.put(key, entry.get())
+        }
+        unchanged
+    }
+
+    Optional<TestUnit> generate(Unit unit, Supplier<Optional<TestUnit>> generation) {
+        if (!enabled) {
+            return generation.get()
+        }
+        DependencyTracker.Dependencies dependencies = new DependencyTracker.Dependencies()
+        Optional<TestUnit> testUnit = DependencyTracker.track(dependencies, generation)
+        dependencies.files.remove(unit.sourcePath)
+        touchedDependencies.put(unit.sourcePath, dependencies)
+        testUnit
+    }
+
+    /**
+     * @param test the file the test was actually written to
+     */
+    void record(Unit unit, Optional<Path> test) {
+        if (!enabled || !unit.sourcePath) {
+            return
+        }
+        regenerated.increment()
+        String testPath = test.filter { Files.isRegularFile(it) }
+                              .map { it.toString() }
+                              .orElse(null)
+        String testHash = testPath ? hash(Paths.get(testPath)) : null
+        DependencyTracker.Dependencies touched = touchedDependencies.remove(unit.sourcePath) ?: new DependencyTracker.Dependencies()
+        Map<String, String> dependencies = touched.files.collectEntries {
+            [(it.toString()): dependencyFingerprint(it.toString())]
+        }
+        current.put(toKey(unit.sourcePath), new ManifestEntry(sourceHash(unit.sourcePath), testPath, testHash, dependencies,
+                touched.unresolved.toList()))
+    }
+
+    void save() {
+        if (!enabled) {
+            return
+        }
+        current.save(manifestPath)
+        log.info "Incremental run: ${skipped.size()} units skipped, $regenerated regenerated"
+    }
+
+    long getSkipped() {
+        skipped.size()
+    }
+
+    long getRegenerated() {
+        regenerated.longValue()
+    }
+
+    private boolean areDependenciesUpToDate(ManifestEntry entry) {
+        entry.dependencies.every { file, fingerprint -> dependencyFingerprint(file) == fingerprint }
+    }
+
+    private boolean isStillUnresolved(String typeName) {
+        try {
+            return !solver.tryToSolveType(typeName).solved
+        } catch (Exception e) {
+            log.debug "Failed to resolve $typeName, regenerating the units referring to it", e
+            return false
+        }
+    }
+
+    private String dependencyFingerprint(String file) {
+        dependencyFingerprints.computeIfAbsent(file, {
+            Path path = Paths.get(it)
+            if (!Files.isRegularFile(path)) {
+                return 'missing'
+            }
+            it.toLowerCase().endsWith('.jar') ? "${Files.size(path)}:${Files.getLastModifiedTime(path).toMillis()}".toString() : hash(path)
+        })
+    }
+
+    private boolean isTestUpToDate(ManifestEntry entry) {
+        if (!entry.hasTest()) {
+            return true
+        }
+        Path test = Paths.get(entry.testPath)
+        Files.isRegularFile(test) && hash(test) == entry.testHash
+    }
+
+    private String toKey(Path source) {
+        src.relativize(source).toString()
+    }
+
+    private String sourceHash(Path source) {
+        sourceHashes.computeIfAbsent(source, { hash(it) })
+    }
+
+    static String hash(Path file) {
+        GuavaFiles.asByteSource(file.toFile()).hash(Hashing.murmur3_128()).toString()
+    }
+
+    private static String fingerprint(List<TestGenerator> generators, String[] profiles, ProjectConfiguration cfg) {
+        List<String> code = ([IncrementalGeneration] + generators*.class).collect { codeLocation(it) }.unique().collect {
+            it instanceof Path ? contentHash(it as Path) : it.toString()
+        }
+        String description = (code.sort() + generators.collect { it.class.name }.sort() + profiles.toList().sort() +
+                outputSettings(cfg)).join(',')
+        Hashing.murmur3_128().hashString(description, StandardCharsets.UTF_8).toString()
+    }
+
+    /**
+     * Settings that change which tests are generated, what they contain or where they are written, including the
+     * content of the coverage inputs.
+     */
+    private static List<String> outputSettings(ProjectConfiguration cfg) {
+        List<String> settings = [cfg.out, cfg.testSrc, cfg.methodPrefix, cfg.fileNameResolution, cfg.resolvePaths,
+                                 cfg.resolveJars, cfg.jacoco, cfg.jacocoSrcPackagesOnly, cfg.jacocoExec, cfg.classDirs,
+                                 cfg.skipCoveredPercent, cfg.coverageFirst, cfg.minComplexity, cfg.slowPathComplexity,
+                                 cfg.unitTimeout, cfg.runTimeout].collect { String.valueOf(it) }
+        List<Path> coverage = [cfg.jacoco, cfg.jacocoExec].findAll().collect { Paths.get(it) } + cfg.classDirPaths
+        settings + coverage.collect { contentHash(it) }
+    }
+
+    /**
+     * The jar or class directory a class was loaded from, its version if that is not a local file.
+     */
+    private static Object codeLocation(Class<?> type) {
+        try {
+            String location = type.protectionDomain.codeSource.location.toString()
+            if (location.startsWith('jar:')) {
+                location = location.substring('jar:'.length(), location.indexOf('!/'))
+            }
+            return Paths.get(new URI(location))
+        } catch (Exception ignored) {
+            return type.package?.implementationVersion ?: type.name
+        }
+    }
+
+    private static String contentHash(Path path) {
+        if (Files.isRegularFile(path)) {
+            return hash(path)
+        }
+        if (!Files.isDirectory(path)) {
+            return 'missing'
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+        Stream<Path> files = Files.walk(path)
+        try {
+            files.filter { Files.isRegularFile(it) }.sorted().each { Path file ->
+                hasher.putString(path.relativize(file).toString(), StandardCharsets.UTF_8)
+                hasher.putBytes(Files.readAllBytes(file))
+            }
+        } finally {
+            files.close()
+        }
+        hasher.hash().toString()
+    }
+}
@@ -0,0 +1,81 @@
+package com.aurea.testgenerator.incremental
+
+import com.aurea.testgenerator.source.AtomicFiles
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import groovy.util.logging.Log4j2
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Per-unit record of the inputs and outputs of the previous run, keyed by the unit source path relative to
+ * project.src. The fingerprint covers everything that is shared by all units: tool and generator code, active profiles
+ * and output settings.
+ * Dependencies are the other source files and jars the symbol solver resolved types from while generating the unit,
+ * unresolved are the type names it failed to find.
+ */
+@Log4j2
+class Manifest {
+
+    final String fingerprint
+    final Map<String, ManifestEntry> entries
+
+    Manifest(String fingerprint) {
+        this(fingerprint, new ConcurrentHashMap<>())
+    }
+
+    Manifest(String fingerprint, Map<String, ManifestEntry> entries) {
+        this.fingerprint = fingerprint
+        this.entries = entries
+    }
+
+    Optional<ManifestEntry> get(String source) {
+        Optional.ofNullable(entries.get(source))
+    }
+
+    void put(String source, ManifestEntry entry) {
+        entries.put(source, entry)
+    }
+
+    int size() {
+        entries.size()
+    }
+
+    static Manifest load(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return new Manifest('')
+        }
+        try {
+            Map json = new JsonSlurper().parse(path.toFile()) as Map
+            Map<String, ManifestEntry> entries = new ConcurrentHashMap<>()
+            (json.units as Map<String, Map>).each { source, entry ->
+                entries.put(source, new ManifestEntry(
+                        entry.source as String,
+                        entry.test as String,
+                        entry.testHash as String,
+                        (entry.dependencies ?: [:]) as Map<String, String>,
+                        (entry.unresolved ?: []) as List<String>))
+            }
+            return new Manifest(json.fingerprint as String, entries)
+        } catch (Exception e) {
+            log.warn "Failed to read manifest $path, all units will be regenerated", e
+            return new Manifest('')
+        }
+    }
+
+    void save(Path path) {
+        Map<String, Map> units = new TreeMap<>()
+        entries.each { source, entry ->
+            units.put(source, [
+                    source      : entry.sourceHash,
+                    test        : entry.testPath,
+                    testHash    : entry.testHash,
+                    dependencies: new TreeMap<>(entry.dependencies),
+                    unresolved  : entry.unresolved])
+        }
+        Files.createDirectories(path.toAbsolutePath().parent)
+        AtomicFiles.write(path, JsonOutput.prettyPrint(JsonOutput.toJson([fingerprint: fingerprint, units: units])))
+    }
+}
@@ -0,0 +1,16 @@
+package com.aurea.testgenerator.incremental
+
+import groovy.transform.Canonical
+
+@Canonical
+class ManifestEntry {
+    String sourceHash
+    String testPath
+    String testHash
+    Map<String, String> dependencies = [:]
+    List<String> unresolved = []
+
+    boolean hasTest() {
+        testPath != null
+    }
+}
@@ -17,6 +17,10 @@ class CoverageReporter {
     ApplicationEventPublisher publisher
 
     @Autowired
+    CoverageReporter(ReportingBus bus) {
+        this.publisher = bus
+    }
+
     CoverageReporter(ApplicationEventPublisher publisher) {
         this.publisher = publisher
     }
@@ -0,0 +1,145 @@
+package com.aurea.testgenerator.reporting
+
+import com.aurea.testgenerator.ast.ASTNodeUtils
+import com.aurea.testgenerator.ast.UnsolvedDeclarationEvent
+import com.aurea.testgenerator.ast.UnsolvedDeclarationEvent.UnsolvedDeclarationType
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.coverage.CoverageStatistics
+import com.aurea.testgenerator.generation.GenerationProfiler
+import com.aurea.testgenerator.generation.TestGenerator
+import com.aurea.testgenerator.generation.TestGeneratorResult
+import com.aurea.testgenerator.source.Unit
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationListener
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
+
+import static java.lang.System.lineSeparator
+
+/**
+ * Consolidated report of a blank run (project.blank): generators applicable per unit, lines the tests would cover,
+ * unsolved symbols and generation time. Logged at shutdown in place of the tests, which are neither printed nor
+ * written.
+ */
+@Component
+@Log4j2
+class DryRunReport implements ApplicationListener<UnsolvedDeclarationEvent> {
+
+    final boolean enabled
+    final int top
+    final CoverageStatistics coverage
+    final GenerationProfiler profiler
+
+    private final Map<String, Set<String>> generatorsByUnit = new ConcurrentHashMap<>()
+    private final Map<String, Applicability> generators = new ConcurrentHashMap<>()
+    private final Map<UnsolvedDeclarationType, LongAdder> unsolved = new EnumMap<>(UnsolvedDeclarationType.values().collectEntries {
+        [(it): new LongAdder()]
+    })
+    private final Map<String, LongAdder> unsolvedByUnit = new ConcurrentHashMap<>()
+    private final LongAccumulator started = new LongAccumulator({ a, b -> Math.min(a, b) }, Long.MAX_VALUE)
+    private final LongAccumulator finished = new LongAccumulator({ a, b -> Math.max(a, b) }, Long.MIN_VALUE)
+
+    @Autowired
+    DryRunReport(ProjectConfiguration cfg, CoverageStatistics coverage, GenerationProfiler profiler) {
+        this(cfg.blank, cfg.profileTop, coverage, profiler)
+    }
+
+    DryRunReport(boolean enabled, int top, CoverageStatistics coverage, GenerationProfiler profiler) {
+        this.enabled = enabled
+        this.top = top
+        this.coverage = coverage
+        this.profiler = profiler
+    }
+
+    static DryRunReport disabled() {
+        new DryRunReport(false, 0, null, GenerationProfiler.disabled())
+    }
+
+    void record(TestGenerator generator, Unit unit, Collection<TestGeneratorResult> results) {
+        if (!enabled) {
+            return
+        }
+        long now = System.nanoTime()
+        started.accumulate(now)
+        finished.accumulate(now)
+        Set<String> applicable = generatorsByUnit.computeIfAbsent(unit.fullName) { ConcurrentHashMap.newKeySet() }
+        int tests = results.sum(0) { it.tests.size() } as int
+        if (tests > 0) {
+            String name = generator.class.simpleName
+            applicable << name
+            Applicability applicability = generators.computeIfAbsent(name) { new Applicability() }
+            applicability.units.increment()
+            applicability.tests.add(tests)
+        }
+    }
+
+    @Override
+    void onApplicationEvent(UnsolvedDeclarationEvent event) {
+        if (!enabled) {
+            return
+        }
+        unsolved[event.type].increment()
+        unsolvedByUnit.computeIfAbsent(ASTNodeUtils.getNameOfCompilationUnit(event.node)) { new LongAdder() }.increment()
+    }
+
+    long getUnits() {
+        generatorsByUnit.size()
+    }
+
+    long getApplicableUnits() {
+        generatorsByUnit.values().count { !it.empty }
+    }
+
+    Map<String, Set<String>> getGeneratorsByUnit() {
+        generatorsByUnit.asImmutable()
+    }
+
+    @PreDestroy
+    void logReport() {
+        if (enabled && log.infoEnabled) {
+            log.info report()
+        }
+        if (enabled && log.debugEnabled) {
+            log.debug lineSeparator() + '\tGenerators per unit:' + lineSeparator() +
+                    generatorsByUnit.sort().collect { unit, names -> "\t\t$unit: ${names.sort().join(', ')}" }.join(lineSeparator())
+        }
+    }
+
+    String report() {
+        StringBuilder text = new StringBuilder(lineSeparator())
+        long wall = units ? finished.get() - started.get() : 0
+        text.append(String.format('\tDry run: %d units analysed in %.1f s, %d with applicable generators', units,
+                wall / (double) TimeUnit.SECONDS.toNanos(1), applicableUnits))
+        text.append(lineSeparator()).append('\tApplicable generators (units, tests):')
+        generators.sort { -it.value.units.sum() }.each { String name, Applicability applicability ->
+            text.append(lineSeparator()).append(String.format('\t\t%-60s %8d %8d', name, applicability.units.sum(),
+                    applicability.tests.sum()))
+        }
+        if (coverage) {
+            long covered = coverage.coveredLines
+            long visited = coverage.visitedLines
+            text.append(lineSeparator()).append(String.format('\tEstimated covered lines: %d / %d (%.2f%%)', covered,
+                    visited, visited ? covered * 100d / visited : 0d))
+        }
+        text.append(lineSeparator()).append("\tUnsolved symbols: ${unsolved.values().sum { it.sum() }} (")
+            .append(unsolved.collect { type, count -> "$type: ${count.sum()}" }.join(', ')).append(')')
+        unsolvedByUnit.collect { [it.key, it.value.sum()] }.sort { -it[1] }.take(top).each {
+            text.append(lineSeparator()).append(String.format('\t\t%-80s %8d', it[0], it[1]))
+        }
+        if (profiler.enabled) {
+            text.append(profiler.report())
+        }
+        text.toString()
+    }
+
+    private static class Applicability {
+        final LongAdder units = new LongAdder()
+        final LongAdder tests = new LongAdder()
+    }
+}
@@ -0,0 +1,115 @@
+package com.aurea.testgenerator.reporting;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Every slot carries the sequence it expects next,
+ * producers claim a slot with one CAS on the tail and the consumer takes slots in order without contention. Closing
+ * marks the tail, so no slot can be claimed afterwards.
+ */
+final class EventRingBuffer<E> {
+
+    private static final long CLOSED = 1L << 62;
+
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        slots = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return false if the buffer is full or closed
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                return false;
+            }
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                return false;
+            }
+        }
+    }
+
+    void close() {
+        long position;
+        do {
+            position = tail.get();
+        } while ((position & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED));
+    }
+
+    /**
+     * Moves up to {@code limit} published elements to {@code batch}, only called by one consumer at a time.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> batch, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch.add((E) slots[index]);
+            slots[index] = null;
+            sequences.set(index, position + slots.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Moves every element offered so far to {@code batch}, waiting for producers that claimed a slot but have not
+     * published it yet. Only called by one consumer at a time.
+     */
+    @SuppressWarnings("unchecked")
+    int drainAll(List<? super E> batch) {
+        long end = tail.get() & ~CLOSED;
+        long position = head;
+        int drained = 0;
+        while (position < end) {
+            int index = (int) position & mask;
+            while (sequences.get(index) != position + 1) {
+                Thread.yield();
+            }
+            batch.add((E) slots[index]);
+            slots[index] = null;
+            sequences.set(index, position + slots.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return (tail.get() & ~CLOSED) == head;
+    }
+}
@@ -0,0 +1,132 @@
+package com.aurea.testgenerator.reporting
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import groovy.util.logging.Log4j2
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationEvent
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.context.ApplicationListener
+import org.springframework.context.event.ContextClosedEvent
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Takes reporting events off the generator threads: events are queued in a ring buffer and handed to the
+ * listeners in batches by a single consumer thread. The buffer is flushed when the context closes, before the
+ * statistics log their summaries. With a full buffer the caller delivers the queued events before its own, so each
+ * producer's events reach the listeners in order. After the flush or without a buffer events are delivered by the
+ * caller.
+ */
+@Component
+@Log4j2
+class ReportingBus implements ApplicationEventPublisher, ApplicationListener<ContextClosedEvent> {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1)
+
+    private final ApplicationEventPublisher delegate
+    private final EventRingBuffer<Object> buffer
+    private final int batchSize
+    private final Thread consumer
+    private final Object delivery = new Object()
+    private volatile boolean running
+
+    @Autowired
+    ReportingBus(ApplicationEventPublisher delegate, ProjectConfiguration cfg) {
+        this(delegate, cfg.reportingBuffer, 256)
+    }
+
+    ReportingBus(ApplicationEventPublisher delegate, int capacity, int batchSize) {
+        this.delegate = delegate
+        this.batchSize = batchSize
+        if (capacity > 0) {
+            buffer = new EventRingBuffer<>(capacity)
+            running = true
+            consumer = new Thread(this.&consume, 'reporting-bus')
+            consumer.daemon = true
+            consumer.start()
+        } else {
+            buffer = null
+            consumer = null
+        }
+    }
+
+    static ReportingBus synchronous(ApplicationEventPublisher delegate) {
+        new ReportingBus(delegate, 0, 0)
+    }
+
+    @Override
+    void publishEvent(ApplicationEvent event) {
+        publishEvent((Object) event)
+    }
+
+    @Override
+    void publishEvent(Object event) {
+        if (buffer == null) {
+            delegate.publishEvent(event)
+        } else if (!buffer.offer(event)) {
+            synchronized (delivery) {
+                deliverQueued()
+                delegate.publishEvent(event)
+            }
+        }
+    }
+
+    @Override
+    void onApplicationEvent(ContextClosedEvent event) {
+        flush()
+    }
+
+    /**
+     * Delivers all queued events and switches to delivery by the caller. The buffer is closed before the last drain,
+     * so an event published meanwhile is either drained or delivered by its caller afterwards.
+     */
+    @PreDestroy
+    synchronized void flush() {
+        if (!running) {
+            return
+        }
+        running = false
+        consumer.join()
+        buffer.close()
+        synchronized (delivery) {
+            deliverQueued()
+        }
+    }
+
+    private void consume() {
+        List<Object> batch = new ArrayList<>(batchSize)
+        while (running) {
+            int drained
+            synchronized (delivery) {
+                drained = buffer.drainTo(batch, batchSize)
+                deliver(batch)
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_NANOS)
+            }
+        }
+    }
+
+    /**
+     * Delivers every event offered so far, called with the delivery lock held.
+     */
+    private void deliverQueued() {
+        List<Object> batch = []
+        buffer.drainAll(batch)
+        deliver(batch)
+    }
+
+    private void deliver(List<Object> batch) {
+        for (Object event : batch) {
+            try {
+                delegate.publishEvent(event)
+            } catch (Exception e) {
+                log.error "Failed to deliver $event", e
+            }
+        }
+        batch.clear()
+    }
+}
@@ -0,0 +1,24 @@
+package com.aurea.testgenerator.reporting
+
+import com.aurea.testgenerator.ast.ResolutionMemo
+import groovy.util.logging.Log4j2
+import org.springframework.context.annotation.Profile
+import org.springframework.stereotype.Component
+
+import javax.annotation.PreDestroy
+
+@Component
+@Log4j2
+@Profile("statistics")
+class ResolutionStatistics {
+
+    @PreDestroy
+    void logStats() {
+        long hits = ResolutionMemo.hits
+        long total = hits + ResolutionMemo.misses
+        if (log.infoEnabled && total > 0) {
+            log.info String.format("Resolution memo: %d of %d lookups answered from memo (%.1f%%), %d failures memoized",
+                    hits, total, 100.0 * hits / total, ResolutionMemo.failures)
+        }
+    }
+}
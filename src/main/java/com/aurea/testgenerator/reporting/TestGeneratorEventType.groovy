@@ -4,5 +4,6 @@ package com.aurea.testgenerator.reporting
 enum TestGeneratorEventType {
     GENERATION_FAILURE,
     GENERATION_SUCCESS,
-    NOT_APPLICABLE
+    NOT_APPLICABLE,
+    TIMEOUT
 }
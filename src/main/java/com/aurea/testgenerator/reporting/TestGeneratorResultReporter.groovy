@@ -15,6 +15,10 @@ class TestGeneratorResultReporter {
     ApplicationEventPublisher publisher
 
     @Autowired
+    TestGeneratorResultReporter(ReportingBus bus) {
+        this.publisher = bus
+    }
+
     TestGeneratorResultReporter(ApplicationEventPublisher publisher) {
         this.publisher = publisher
     }
@@ -33,6 +37,10 @@ class TestGeneratorResultReporter {
         publishEvent(result, unit, signatures)
     }
 
+    void publishTimeout(Unit unit) {
+        publisher.publishEvent(new TestGenerationEvent(this, unit, [], new TestGeneratorResult(), TestGeneratorEventType.TIMEOUT))
+    }
+
     void publishEvent(TestGeneratorResult result, Unit unit, List<String> signatures) {
         if (!result.errors.empty) {
             publisher.publishEvent(new TestGenerationEvent(this, unit, signatures, result, TestGeneratorEventType.GENERATION_FAILURE))
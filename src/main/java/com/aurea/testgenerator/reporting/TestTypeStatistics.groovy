@@ -23,6 +23,9 @@ class TestTypeStatistics implements ApplicationListener<TestGenerationEvent> {
 
     @Override
     void onApplicationEvent(TestGenerationEvent event) {
+        if (event.eventType == TestGeneratorEventType.TIMEOUT) {
+            return
+        }
         tests.add(event.result.tests.size())
         testsPerType.merge(event.result.type, new AtomicInteger(event.result.tests.size()), { a1, a2 ->
             a1.addAndGet(a2.intValue())
@@ -0,0 +1,130 @@
+package com.aurea.testgenerator.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes files through a temporary sibling moved over the target, so a crash never leaves a half written or deleted
+ * file behind. Content is encoded in chunks straight into the file channel through buffers reused per thread, so no
+ * encoded copy of the whole file is ever held in memory.
+ */
+public final class AtomicFiles {
+
+    private static final int CHUNK = 64 * 1024;
+    private static final AtomicLong TEMP_FILES = new AtomicLong();
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private AtomicFiles() {
+    }
+
+    public static void write(Path target, CharSequence content) throws IOException {
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + TEMP_FILES.incrementAndGet() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                encode(content, chunk -> {
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    return true;
+                });
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Leaves the target untouched, including its modification time, if it already has the given content.
+     *
+     * @return false if the target was up to date
+     */
+    public static boolean writeIfChanged(Path target, CharSequence content) throws IOException {
+        if (hasContent(target, content)) {
+            return false;
+        }
+        write(target, content);
+        return true;
+    }
+
+    /**
+     * Compares the file with the encoded content chunk by chunk, stopping at the first difference.
+     */
+    public static boolean hasContent(Path file, CharSequence content) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        ByteBuffer existing = BUFFERS.get().existing;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return encode(content, chunk -> {
+                existing.clear().limit(chunk.remaining());
+                while (existing.hasRemaining()) {
+                    if (channel.read(existing) < 0) {
+                        return false;
+                    }
+                }
+                existing.flip();
+                return existing.equals(chunk);
+            }) && channel.position() == channel.size();
+        }
+    }
+
+    /**
+     * @return false if the sink stopped early
+     */
+    private static boolean encode(CharSequence content, Sink sink) throws IOException {
+        Buffers buffers = BUFFERS.get();
+        CharsetEncoder encoder = buffers.encoder.reset();
+        ByteBuffer out = buffers.encoded;
+        CharBuffer chars = CharBuffer.wrap(content);
+        boolean flushing = false;
+        while (true) {
+            out.clear();
+            CoderResult result = flushing ? encoder.flush(out) : encoder.encode(chars, out, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            out.flip();
+            if (out.hasRemaining() && !sink.accept(out)) {
+                return false;
+            }
+            if (result.isUnderflow()) {
+                if (flushing) {
+                    return true;
+                }
+                flushing = true;
+            }
+        }
+    }
+
+    private interface Sink {
+        /**
+         * @return false to stop encoding
+         */
+        boolean accept(ByteBuffer chunk) throws IOException;
+    }
+
+    private static final class Buffers {
+        final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+                                              .onMalformedInput(CodingErrorAction.REPLACE)
+                                              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final ByteBuffer encoded = ByteBuffer.allocateDirect(CHUNK);
+        final ByteBuffer existing = ByteBuffer.allocateDirect(CHUNK);
+    }
+}
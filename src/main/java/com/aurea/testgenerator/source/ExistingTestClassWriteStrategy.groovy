@@ -3,7 +3,7 @@ package com.aurea.testgenerator.source
 
 interface ExistingTestClassWriteStrategy {
 
-    void write(File existingTest, Unit testUnit)
+    WriteResult write(File existingTest, Unit testUnit)
 
     FileNameConflictResolutionStrategyType getType()
 }
@@ -6,15 +6,14 @@ import one.util.streamex.StreamEx
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
 
-import java.nio.file.Files
 import java.nio.file.Path
-import java.util.stream.Stream
 
 @Component
 @Log4j2
 class JavaSourceFinder implements SourceFinder {
 
     final Path src
+    private volatile SourceIndex index
 
     @Autowired
     JavaSourceFinder(ProjectConfiguration cfg) {
@@ -23,20 +22,18 @@ class JavaSourceFinder implements SourceFinder {
     }
 
     StreamEx<Path> javaClasses() throws IOException {
-        StreamEx.of(Files.walk(src))
-                .filter { Files.isDirectory it }
-                .parallel()
-                .map { toClasses it }
-                .flatMap { it }
+        index().paths()
     }
 
-    private static Stream<Path> toClasses(Path packageDirectory) {
-        try {
-            return Files.walk(packageDirectory, 1)
-                        .filter { Files.isRegularFile(it) && it.toFile().getName().endsWith(".java") }
-        } catch (IOException e) {
-            e.printStackTrace()
+    SourceIndex index() throws IOException {
+        if (index == null) {
+            synchronized (this) {
+                if (index == null) {
+                    index = SourceIndex.scan(src)
+                    log.info "Indexed ${index.size()} source files in $src"
+                }
+            }
         }
-        Stream.empty()
+        index
     }
 }
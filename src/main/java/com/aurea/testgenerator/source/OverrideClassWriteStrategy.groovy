@@ -8,10 +8,13 @@ import org.springframework.stereotype.Component
 @Component
 class OverrideClassWriteStrategy implements ExistingTestClassWriteStrategy {
     @Override
-    void write(File existingTest, Unit testUnit) {
-        log.debug "Deleting $existingTest"
-        existingTest.delete()
-        existingTest.write(testUnit.cu.toString())
+    WriteResult write(File existingTest, Unit testUnit) {
+        if (AtomicFiles.writeIfChanged(existingTest.toPath(), testUnit.cu.toString())) {
+            log.debug "Overriding $existingTest"
+            return new WriteResult(WriteOutcome.WRITTEN, existingTest.toPath())
+        }
+        log.debug "$existingTest is up to date"
+        new WriteResult(WriteOutcome.UNCHANGED, existingTest.toPath())
     }
 
     @Override
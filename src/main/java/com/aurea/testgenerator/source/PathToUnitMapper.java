@@ -1,12 +1,12 @@
 package com.aurea.testgenerator.source;
 
-import com.github.javaparser.JavaParser;
+import com.aurea.testgenerator.source.cache.AstCache;
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ast.CompilationUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -20,9 +20,15 @@ public class PathToUnitMapper implements Function<Path, Optional<Unit>> {
     private static final Logger logger = LogManager.getLogger(PathToUnitMapper.class.getSimpleName());
 
     private final Path root;
+    private final AstCache cache;
 
     public PathToUnitMapper(Path root) {
+        this(root, AstCache.disabled());
+    }
+
+    public PathToUnitMapper(Path root, AstCache cache) {
         this.root = root;
+        this.cache = cache;
     }
 
     public Path getRoot() {
@@ -35,7 +41,7 @@ public class PathToUnitMapper implements Function<Path, Optional<Unit>> {
             if (path.toString().isEmpty()) {
                 return Optional.empty();
             }
-            CompilationUnit cu = JavaParser.parse(path.toFile(), Charset.defaultCharset());
+            CompilationUnit cu = cache.parse(path, Charset.defaultCharset());
             String simpleFileName = path.getFileName().toString();
             String className = parseJavaClassName(path);
             Path fullPathToFile = root.relativize(path);
@@ -43,12 +49,14 @@ public class PathToUnitMapper implements Function<Path, Optional<Unit>> {
                 Path pathToFileInPackage = Paths.get(PathUtils.packageNameToFileName(pd.getNameAsString()), simpleFileName);
                 Path modulePath = createModulePath(fullPathToFile, pathToFileInPackage);
 
-                return new Unit(cu, className, pd.getNameAsString(), modulePath);
+                Unit unit = new Unit(cu, className, pd.getNameAsString(), modulePath);
+                unit.setSourcePath(path);
+                return unit;
             });
         } catch (NullPointerException npe) {
             logger.error("Inexplicable on: '" + path + "'", npe);
-        } catch (FileNotFoundException e) {
-            logger.error("File not found: '" + path + "'", e);
+        } catch (IOException e) {
+            logger.error("Failed to read: '" + path + "'", e);
         } catch (ParseProblemException ppe) {
             logger.error("Failed to parse: '" + path + "'", ppe);
         }
@@ -1,12 +1,13 @@
 package com.aurea.testgenerator.source;
 
 import com.aurea.testgenerator.config.ProjectConfiguration;
+import com.aurea.testgenerator.source.cache.AstCache;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.resolution.SymbolResolver;
-import groovy.transform.Memoized;
 import one.util.streamex.StreamEx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -26,8 +27,14 @@ public class PathUnitSource implements UnitSource {
     private final Path root;
 
     public PathUnitSource(SourceFinder sourceFinder, ProjectConfiguration cfg, SourceFilter filter, SymbolResolver solver) {
+        this(sourceFinder, cfg, filter, solver, AstCache.disabled());
+    }
+
+    @Autowired
+    public PathUnitSource(SourceFinder sourceFinder, ProjectConfiguration cfg, SourceFilter filter, SymbolResolver solver,
+                          AstCache cache) {
         this.sourceFinder = sourceFinder;
-        this.pathToUnitMapper = new PathToUnitMapper(cfg.getSrcPath());
+        this.pathToUnitMapper = new PathToUnitMapper(cfg.getSrcPath(), cache);
         this.filter = filter;
         this.root = cfg.getSrcPath();
         this.solver = solver;
@@ -35,20 +42,29 @@ public class PathUnitSource implements UnitSource {
 
     @Override
     public StreamEx<Unit> units(Predicate<Path> anotherFilter) {
+        return paths(anotherFilter)
+                .map(this::unit)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    @Override
+    public StreamEx<Path> paths(Predicate<Path> anotherFilter) {
         try {
-            return sources(anotherFilter)
-                    .map(pathToUnitMapper)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(this::injectSolver);
+            return sources(anotherFilter).sorted();
         } catch (IOException e) {
             logger.error("Failed to fetch units", e);
             return StreamEx.empty();
         }
     }
 
+    @Override
+    public Optional<Unit> unit(Path path) {
+        return pathToUnitMapper.apply(path).map(this::injectSolver);
+    }
+
     private StreamEx<Path> sources(Predicate<Path> anotherFilter) throws IOException {
-        return sourceFinder.javaClasses().parallel().filter(filter.and(anotherFilter));
+        return sourceFinder.javaClasses().filter(filter.and(anotherFilter));
     }
 
     private Unit injectSolver(Unit unit) {
@@ -57,7 +73,6 @@ public class PathUnitSource implements UnitSource {
     }
 
     @Override
-    @Memoized
     public long size(Predicate<Path> anotherFilter) {
         try {
             return sources(anotherFilter).count();
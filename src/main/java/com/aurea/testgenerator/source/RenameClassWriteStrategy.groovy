@@ -1,8 +1,5 @@
 package com.aurea.testgenerator.source
 
-import com.aurea.common.JavaClass
-import com.github.javaparser.ast.CompilationUnit
-import com.github.javaparser.ast.expr.SimpleName
 import groovy.util.logging.Log4j2
 import org.apache.commons.lang.StringUtils
 import org.springframework.stereotype.Component
@@ -11,37 +8,26 @@ import org.springframework.stereotype.Component
 @Component
 class RenameClassWriteStrategy implements ExistingTestClassWriteStrategy {
     @Override
-    void write(File existingTest, Unit testUnit) {
-        File file = findFileWithSuitableName(existingTest.name, existingTest)
-        Unit testUnitWithSuitableName = changeUnitName(testUnit, file.name)
+    WriteResult write(File existingTest, Unit testUnit) {
+        String source = testUnit.cu.toString()
+        String baseName = StringUtils.removeEndIgnoreCase(existingTest.name, '.java')
+        File file = existingTest
+        int index = 2
+        // identical re-runs must not pile up numbered copies, so every existing variant is compared
+        while (file.exists()) {
+            if (AtomicFiles.hasContent(file.toPath(), source)) {
+                log.debug "$file is up to date"
+                return new WriteResult(WriteOutcome.UNCHANGED, file.toPath())
+            }
+            file = new File(existingTest.parent, "${baseName}${index++}.java")
+        }
         log.debug "Writing $file"
-        file.write(testUnitWithSuitableName.cu.toString())
+        AtomicFiles.write(file.toPath(), source)
+        new WriteResult(WriteOutcome.WRITTEN, file.toPath())
     }
 
     @Override
     FileNameConflictResolutionStrategyType getType() {
         FileNameConflictResolutionStrategyType.RENAME
     }
-
-
-    private static File findFileWithSuitableName(String baseName, File current) {
-        baseName = StringUtils.removeEndIgnoreCase(current.name, '.java')
-        int index = 2
-        while (current.exists()) {
-            current = new File(current.parent, "${baseName}${index++}.java")
-        }
-        current
-    }
-
-    private static Unit changeUnitName(Unit current, String fileName) {
-        assert !current.cu.getTypes().empty
-        String newFullName = current.javaClass.package + '.' + fileName
-        CompilationUnit newCu = current.cu.clone()
-        newCu.getType(0).name = new SimpleName(fileName)
-        new Unit(current.cu.clone(),
-                new JavaClass(newFullName),
-                current.modulePath
-        )
-    }
 }
-
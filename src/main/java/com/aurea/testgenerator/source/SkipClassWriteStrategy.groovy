@@ -8,10 +8,11 @@ import org.springframework.stereotype.Component
 @Component
 class SkipClassWriteStrategy implements ExistingTestClassWriteStrategy {
     @Override
-    void write(File existingTest, Unit testUnit) {
+    WriteResult write(File existingTest, Unit testUnit) {
         if (log.debugEnabled) {
             log.debug "Skipping writing $testUnit, because file $existingTest already exists"
         }
+        new WriteResult(WriteOutcome.SKIPPED, existingTest.toPath())
     }
 
     @Override
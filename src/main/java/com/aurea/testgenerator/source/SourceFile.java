@@ -0,0 +1,51 @@
+package com.aurea.testgenerator.source;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+public final class SourceFile {
+
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+
+    public SourceFile(Path path, long size, long lastModified) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SourceFile that = (SourceFile) o;
+        return size == that.size && lastModified == that.lastModified && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, size, lastModified);
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -2,7 +2,8 @@ package com.aurea.testgenerator.source;
 
 import one.util.streamex.StreamEx;
 
-import java.nio.file.Files;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.function.UnaryOperator;
 
@@ -38,11 +39,21 @@ public final class SourceFilters {
                 .reduce(p -> false, SourceFilter::or);
     }
 
+    /**
+     * Indexes the test root once, so no file system lookup is made per source.
+     */
     public static SourceFilter hasTest(Path srcRoot, Path testRoot, UnaryOperator<Path> toTestName) {
+        try {
+            return hasTest(srcRoot, SourceIndex.scan(testRoot), toTestName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + testRoot, e);
+        }
+    }
+
+    public static SourceFilter hasTest(Path srcRoot, SourceIndex testIndex, UnaryOperator<Path> toTestName) {
         return p -> {
             Path relativeToSourceRoot = srcRoot.relativize(p);
-            Path testFilePath = testRoot.resolve(toTestName.apply(relativeToSourceRoot));
-            return Files.exists(testFilePath);
+            return testIndex.contains(testIndex.getRoot().resolve(toTestName.apply(relativeToSourceRoot)));
         };
     }
 }
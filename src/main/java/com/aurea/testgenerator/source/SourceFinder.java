@@ -8,4 +8,6 @@ import java.nio.file.Path;
 public interface SourceFinder {
 
     StreamEx<Path> javaClasses() throws IOException;
+
+    SourceIndex index() throws IOException;
 }
@@ -0,0 +1,93 @@
+package com.aurea.testgenerator.source;
+
+import one.util.streamex.StreamEx;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of all .java files under a root, built with a single walk of the file tree.
+ */
+public final class SourceIndex {
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private final Path root;
+    private final Map<Path, SourceFile> files;
+
+    private SourceIndex(Path root, Map<Path, SourceFile> files) {
+        this.root = root;
+        this.files = Collections.unmodifiableMap(files);
+    }
+
+    public static SourceIndex scan(Path root) throws IOException {
+        Map<Path, SourceFile> files = new LinkedHashMap<>();
+        if (Files.isDirectory(root)) {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && file.getFileName().toString().endsWith(JAVA_EXTENSION)) {
+                        files.put(file, new SourceFile(file, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        return new SourceIndex(root, files);
+    }
+
+    public static SourceIndex empty(Path root) {
+        return new SourceIndex(root, Collections.emptyMap());
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public StreamEx<SourceFile> files() {
+        return StreamEx.of(files.values());
+    }
+
+    public StreamEx<Path> paths() {
+        return StreamEx.of(files.keySet());
+    }
+
+    /**
+     * Dotted names of the directories holding sources, "" for the root.
+     */
+    public Set<String> packages() {
+        Set<String> packages = new TreeSet<>();
+        for (Path file : files.keySet()) {
+            Path dir = root.relativize(file).getParent();
+            packages.add(dir == null ? "" : dir.toString().replace(dir.getFileSystem().getSeparator(), "."));
+        }
+        return packages;
+    }
+
+    public Optional<SourceFile> get(Path path) {
+        return Optional.ofNullable(files.get(path));
+    }
+
+    public boolean contains(Path path) {
+        return files.containsKey(path);
+    }
+
+    public int size() {
+        return files.size();
+    }
+}
@@ -7,13 +7,14 @@ import groovy.transform.ToString
 
 import java.nio.file.Path
 
-@EqualsAndHashCode(excludes = 'cu')
+@EqualsAndHashCode(excludes = ['cu', 'sourcePath'])
 @ToString(includePackage = false, includes = ['javaClass'])
 class Unit {
 
     CompilationUnit cu
     JavaClass javaClass
     Path modulePath
+    Path sourcePath
 
     Unit(CompilationUnit cu, JavaClass javaClass, Path modulePath) {
         this.cu = cu
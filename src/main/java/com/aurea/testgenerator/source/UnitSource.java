@@ -3,10 +3,15 @@ package com.aurea.testgenerator.source;
 import one.util.streamex.StreamEx;
 
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 public interface UnitSource {
     StreamEx<Unit> units(Predicate<Path> filter);
 
+    StreamEx<Path> paths(Predicate<Path> filter);
+
+    Optional<Unit> unit(Path path);
+
     long size(Predicate<Path> filter);
 }
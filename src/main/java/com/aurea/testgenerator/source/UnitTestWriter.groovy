@@ -1,13 +1,31 @@
 package com.aurea.testgenerator.source
 
 import com.aurea.testgenerator.config.ProjectConfiguration
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import groovy.util.logging.Log4j2
 import one.util.streamex.StreamEx
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
 
+import javax.annotation.PreDestroy
+import java.nio.file.Files
 import java.nio.file.Path
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.RejectedExecutionHandler
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.Consumer
 
+/**
+ * Writes generated tests through {@link AtomicFiles}. {@link #writeBehind} leaves printing and writing to
+ * project.writerThreads I/O threads; tests of the same file always go to the same thread, so conflict strategies see
+ * earlier writes. Callers block while the queue of a thread is full. Existing tests with the same content are not
+ * touched; written, unchanged and skipped tests are counted and logged at shutdown.
+ */
 @Component
 @Log4j2
 class UnitTestWriter {
@@ -16,6 +34,12 @@ class UnitTestWriter {
     boolean blank
     ExistingTestClassWriteStrategy existingTestClassWriteStrategy
 
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet()
+    private final List<ThreadPoolExecutor> lanes
+    private final Map<WriteOutcome, LongAdder> outcomes = new EnumMap<>(WriteOutcome.values().collectEntries {
+        [(it): new LongAdder()]
+    })
+
     @Autowired
     UnitTestWriter(ProjectConfiguration cfg, List<ExistingTestClassWriteStrategy> strategies) {
         if (!cfg.blank) {
@@ -25,26 +49,91 @@ class UnitTestWriter {
         this.existingTestClassWriteStrategy = StreamEx.of(strategies)
                                                       .toMap({it.type}, {it})
                                                       .get(cfg.fileNameResolution)
+        ThreadFactory threads = new ThreadFactoryBuilder().setNameFormat('test-writer-%d').setDaemon(true).build()
+        this.lanes = (0..<Math.max(0, cfg.writerThreads)).collect {
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(cfg.queueCapacity),
+                    threads, waitForSpace())
+        }
     }
 
-    void write(Unit unit) {
+    WriteResult write(Unit unit) {
         if (blank) {
             log.info "Blank run, writing tests is disabled"
+            return new WriteResult(WriteOutcome.SKIPPED, null)
+        }
+        Path testFile = testFilePath(unit)
+        createDirectory(testFile.parent)
+        WriteResult result
+        if (!Files.exists(testFile)) {
+            log.debug "Writing test: $testFile"
+            AtomicFiles.write(testFile, unit.cu.toString())
+            result = new WriteResult(WriteOutcome.WRITTEN, testFile)
         } else {
-            Path pathInOut = PathUtils.packageNameToPath(unit.cu.packageDeclaration.get().nameAsString)
-            String fileName = unit.className + ".java"
-            Path testFilePath = out.resolve(pathInOut).resolve(fileName)
-            File testFile = testFilePath.toFile()
-            if (!testFile.parentFile.exists()) {
-                log.debug "Creating $testFile.parentFile"
-                testFile.parentFile.mkdirs()
-            }
-            if (!testFile.exists()) {
-                log.debug "Writing test: $testFile"
-                testFile.write(unit.cu.toString())
-            } else {
-                existingTestClassWriteStrategy.write(testFile, unit)
+            result = existingTestClassWriteStrategy.write(testFile.toFile(), unit)
+        }
+        outcomes[result.outcome].increment()
+        result
+    }
+
+    /**
+     * Writes the unit on an I/O thread and passes the result to {@code written} there once it is on disk.
+     */
+    void writeBehind(Unit unit, Consumer<WriteResult> written) {
+        if (blank || lanes.empty) {
+            written.accept(write(unit))
+            return
+        }
+        Path testFile = testFilePath(unit)
+        lanes[Math.floorMod(testFile.hashCode(), lanes.size())].execute {
+            try {
+                written.accept(write(unit))
+            } catch (Exception e) {
+                log.error "Failed to write test $testFile", e
             }
         }
     }
+
+    /**
+     * Waits for all writes submitted so far.
+     */
+    void flush() {
+        lanes.collect { it.submit({} as Runnable) }*.get()
+    }
+
+    long count(WriteOutcome outcome) {
+        outcomes[outcome].sum()
+    }
+
+    @PreDestroy
+    void close() {
+        lanes*.shutdown()
+        lanes.each { it.awaitTermination(1, TimeUnit.MINUTES) }
+        if (outcomes.values().any { it.sum() > 0 }) {
+            log.info "Tests written: ${count(WriteOutcome.WRITTEN)}, unchanged: ${count(WriteOutcome.UNCHANGED)}, " +
+                    "skipped: ${count(WriteOutcome.SKIPPED)}"
+        }
+    }
+
+    Path testFilePath(Unit unit) {
+        Path pathInOut = PathUtils.packageNameToPath(unit.cu.packageDeclaration.get().nameAsString)
+        String fileName = unit.className + ".java"
+        out.resolve(pathInOut).resolve(fileName)
+    }
+
+    private void createDirectory(Path directory) {
+        if (!directories.contains(directory)) {
+            log.debug "Creating $directory"
+            Files.createDirectories(directory)
+            directories << directory
+        }
+    }
+
+    private static RejectedExecutionHandler waitForSpace() {
+        return { Runnable task, ThreadPoolExecutor executor ->
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Test writer is closed")
+            }
+            executor.queue.put(task)
+        } as RejectedExecutionHandler
+    }
 }
@@ -0,0 +1,8 @@
+package com.aurea.testgenerator.source
+
+
+enum WriteOutcome {
+    WRITTEN,
+    UNCHANGED,
+    SKIPPED,
+}
@@ -0,0 +1,15 @@
+package com.aurea.testgenerator.source
+
+import groovy.transform.Canonical
+
+import java.nio.file.Path
+
+/**
+ * Outcome of writing a test and the file that holds it, which differs from the nominal test path when the test was
+ * renamed. The file is null if nothing was written.
+ */
+@Canonical
+class WriteResult {
+    WriteOutcome outcome
+    Path test
+}
@@ -0,0 +1,251 @@
+package com.aurea.testgenerator.source.cache;
+
+import com.aurea.testgenerator.config.ProjectConfiguration;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of parsed compilation units keyed by the source content and the parser configuration. Entries are
+ * evicted least recently used first once the cache directory grows over project.astCacheSize megabytes.
+ */
+@Component
+public class AstCache {
+
+    private static final Logger logger = LogManager.getLogger(AstCache.class.getSimpleName());
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".ast";
+
+    private final Path dir;
+    private final long maxBytes;
+    private final CompilationUnitSerializer serializer = new CompilationUnitSerializer();
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @Autowired
+    public AstCache(ProjectConfiguration cfg) {
+        this(cfg.getAstCachePath(), cfg.getAstCacheSize() * 1024 * 1024);
+    }
+
+    public AstCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        if (dir != null) {
+            loadEntries();
+        }
+    }
+
+    public static AstCache disabled() {
+        return new AstCache(null, 0);
+    }
+
+    public boolean isEnabled() {
+        return dir != null && isCacheable(JavaParser.getStaticConfiguration());
+    }
+
+    public CompilationUnit parse(Path path, Charset charset) throws IOException {
+        if (!isEnabled()) {
+            return JavaParser.parse(path.toFile(), charset);
+        }
+        byte[] content = Files.readAllBytes(path);
+        String key = key(content, charset);
+        CompilationUnit cu = load(key);
+        if (cu == null) {
+            misses.increment();
+            cu = JavaParser.parse(new ByteArrayInputStream(content), charset);
+            store(key, cu);
+        } else {
+            hits.increment();
+        }
+        cu.setStorage(path);
+        return cu;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return totalBytes;
+    }
+
+    @PreDestroy
+    public void logStats() {
+        if (dir == null) {
+            return;
+        }
+        long total = getHits() + getMisses();
+        logger.info(String.format("AST cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d failures, %d KB in %s",
+                getHits(), getMisses(), total == 0 ? 0.0 : 100.0 * getHits() / total,
+                getEvictions(), failures.sum(), getSizeInBytes() / 1024, dir));
+    }
+
+    /**
+     * Comments and tokens are not serialized, so units parsed with either of them cannot be cached.
+     */
+    private static boolean isCacheable(ParserConfiguration configuration) {
+        return !configuration.isAttributeComments()
+                && !configuration.isStoreTokens()
+                && !configuration.isLexicalPreservationEnabled();
+    }
+
+    private static String key(byte[] content, Charset charset) {
+        ParserConfiguration configuration = JavaParser.getStaticConfiguration();
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putInt(FORMAT_VERSION)
+                .putString(String.valueOf(JavaParser.class.getPackage().getImplementationVersion()), StandardCharsets.UTF_8)
+                .putString(String.valueOf(configuration.getLanguageLevel()), StandardCharsets.UTF_8)
+                .putInt(configuration.getTabSize())
+                .putString(charset.name(), StandardCharsets.UTF_8)
+                .putBytes(content);
+        return hasher.hash().toString();
+    }
+
+    private CompilationUnit load(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = file(key);
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CompilationUnit cu = serializer.read(new DataInputStream(in));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return cu;
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            logger.debug("Dropping unreadable cache entry " + file, e);
+            remove(key);
+            return null;
+        }
+    }
+
+    private void store(String key, CompilationUnit cu) {
+        Path file = file(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                serializer.write(cu, new DataOutputStream(out));
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            added(key, Files.size(file));
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            logger.debug("Failed to cache " + cu.getStorage().map(Object::toString).orElse(key), e);
+        }
+    }
+
+    private synchronized void added(String key, long size) {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                break;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            evictions.increment();
+            deleteQuietly(file(entry.getKey()));
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(file(key));
+    }
+
+    private void loadEntries() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            List<Path> cached = files
+                    .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(AstCache::lastModified))
+                    .collect(Collectors.toList());
+            for (Path file : cached) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                entries.put(name.substring(0, name.length() - EXTENSION.length()), size);
+                totalBytes += size;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read AST cache " + dir, e);
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + EXTENSION);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete " + file, e);
+        }
+    }
+}
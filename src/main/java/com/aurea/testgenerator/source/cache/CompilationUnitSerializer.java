@@ -0,0 +1,246 @@
+package com.aurea.testgenerator.source.cache;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.metamodel.BaseNodeMetaModel;
+import com.github.javaparser.metamodel.JavaParserMetaModel;
+import com.github.javaparser.metamodel.PropertyMetaModel;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link CompilationUnit} driven by the JavaParser metamodel: every node is written as its
+ * metamodel index, its range and its properties in metamodel order. Comments are not stored, so this is only valid
+ * while comment attribution is disabled.
+ */
+final class CompilationUnitSerializer {
+
+    private static final String COMMENT = "comment";
+    private static final int NULL = -1;
+
+    private final List<BaseNodeMetaModel> metaModels = JavaParserMetaModel.getNodeMetaModels();
+    private final Map<Class<?>, Integer> metaModelIds = new HashMap<>();
+    private final Map<BaseNodeMetaModel, List<PropertyMetaModel>> properties = new HashMap<>();
+    private final Map<BaseNodeMetaModel, Constructor<?>> constructors = new HashMap<>();
+
+    CompilationUnitSerializer() {
+        for (int i = 0; i < metaModels.size(); i++) {
+            BaseNodeMetaModel metaModel = metaModels.get(i);
+            metaModelIds.put(metaModel.getType(), i);
+            List<PropertyMetaModel> stored = new ArrayList<>();
+            for (PropertyMetaModel property : metaModel.getAllPropertyMetaModels()) {
+                if (!COMMENT.equals(property.getName())) {
+                    stored.add(property);
+                }
+            }
+            properties.put(metaModel, stored);
+        }
+    }
+
+    void write(CompilationUnit cu, DataOutput out) throws IOException {
+        writeNode(cu, out);
+    }
+
+    CompilationUnit read(DataInput in) throws IOException {
+        Node node = readNode(in);
+        if (!(node instanceof CompilationUnit)) {
+            throw new IOException("Not a compilation unit: " + node);
+        }
+        return (CompilationUnit) node;
+    }
+
+    private void writeNode(Node node, DataOutput out) throws IOException {
+        if (node == null) {
+            out.writeShort(NULL);
+            return;
+        }
+        Integer id = metaModelIds.get(node.getClass());
+        if (id == null) {
+            throw new IOException("No metamodel for " + node.getClass());
+        }
+        out.writeShort(id);
+        writeRange(node, out);
+        for (PropertyMetaModel property : properties.get(metaModels.get(id))) {
+            writeProperty(property, property.getValue(node), out);
+        }
+    }
+
+    private void writeProperty(PropertyMetaModel property, Object value, DataOutput out) throws IOException {
+        if (property.isNodeList()) {
+            if (value == null) {
+                out.writeInt(NULL);
+                return;
+            }
+            NodeList<?> nodes = (NodeList<?>) value;
+            out.writeInt(nodes.size());
+            for (Node node : nodes) {
+                writeNode(node, out);
+            }
+        } else if (property.isNode()) {
+            writeNode((Node) value, out);
+        } else if (property.isEnumSet()) {
+            Collection<?> values = (Collection<?>) value;
+            out.writeInt(values.size());
+            for (Object element : values) {
+                out.writeShort(((Enum<?>) element).ordinal());
+            }
+        } else if (property.getType().isEnum()) {
+            out.writeShort(value == null ? NULL : ((Enum<?>) value).ordinal());
+        } else if (property.getType() == String.class) {
+            writeString((String) value, out);
+        } else if (property.getType() == boolean.class || property.getType() == Boolean.class) {
+            out.writeBoolean((Boolean) value);
+        } else {
+            throw new IOException("Unsupported property " + property);
+        }
+    }
+
+    private Node readNode(DataInput in) throws IOException {
+        int id = in.readShort();
+        if (id == NULL) {
+            return null;
+        }
+        if (id < 0 || id >= metaModels.size()) {
+            throw new IOException("Unknown metamodel " + id);
+        }
+        BaseNodeMetaModel metaModel = metaModels.get(id);
+        Range range = readRange(in);
+        Map<String, Object> values = new HashMap<>();
+        for (PropertyMetaModel property : properties.get(metaModel)) {
+            values.put(property.getName(), readProperty(property, in));
+        }
+        Node node = construct(metaModel, values);
+        if (range != null) {
+            node.setRange(range);
+        }
+        return node;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readProperty(PropertyMetaModel property, DataInput in) throws IOException {
+        if (property.isNodeList()) {
+            int size = in.readInt();
+            if (size == NULL) {
+                return null;
+            }
+            NodeList nodes = new NodeList();
+            for (int i = 0; i < size; i++) {
+                nodes.add(readNode(in));
+            }
+            return nodes;
+        } else if (property.isNode()) {
+            return readNode(in);
+        } else if (property.isEnumSet()) {
+            Object[] constants = property.getType().getEnumConstants();
+            EnumSet set = EnumSet.noneOf((Class) property.getType());
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                set.add(constants[in.readShort()]);
+            }
+            return set;
+        } else if (property.getType().isEnum()) {
+            int ordinal = in.readShort();
+            return ordinal == NULL ? null : property.getType().getEnumConstants()[ordinal];
+        } else if (property.getType() == String.class) {
+            return readString(in);
+        } else if (property.getType() == boolean.class || property.getType() == Boolean.class) {
+            return in.readBoolean();
+        }
+        throw new IOException("Unsupported property " + property);
+    }
+
+    private Node construct(BaseNodeMetaModel metaModel, Map<String, Object> values) throws IOException {
+        List<PropertyMetaModel> parameters = metaModel.getConstructorParameters();
+        Object[] arguments = new Object[parameters.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = values.get(parameters.get(i).getName());
+        }
+        try {
+            return (Node) constructor(metaModel).newInstance(arguments);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IOException("Failed to create " + metaModel.getTypeName(), e);
+        }
+    }
+
+    private synchronized Constructor<?> constructor(BaseNodeMetaModel metaModel) throws IOException {
+        Constructor<?> constructor = constructors.get(metaModel);
+        if (constructor != null) {
+            return constructor;
+        }
+        List<PropertyMetaModel> parameters = metaModel.getConstructorParameters();
+        for (Constructor<?> candidate : metaModel.getType().getConstructors()) {
+            Class<?>[] types = candidate.getParameterTypes();
+            if (types.length == parameters.size() && matches(types, parameters)) {
+                constructors.put(metaModel, candidate);
+                return candidate;
+            }
+        }
+        throw new IOException("No all-properties constructor for " + metaModel.getTypeName());
+    }
+
+    private static boolean matches(Class<?>[] types, List<PropertyMetaModel> parameters) {
+        for (int i = 0; i < types.length; i++) {
+            PropertyMetaModel parameter = parameters.get(i);
+            Class<?> expected = parameter.isNodeList() ? NodeList.class :
+                    parameter.isEnumSet() ? EnumSet.class : parameter.getType();
+            if (types[i] != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeRange(Node node, DataOutput out) throws IOException {
+        Range range = node.getRange().orElse(null);
+        out.writeBoolean(range != null);
+        if (range != null) {
+            out.writeInt(range.begin.line);
+            out.writeInt(range.begin.column);
+            out.writeInt(range.end.line);
+            out.writeInt(range.end.column);
+        }
+    }
+
+    private static Range readRange(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Position begin = new Position(in.readInt(), in.readInt());
+        Position end = new Position(in.readInt(), in.readInt());
+        return new Range(begin, end);
+    }
+
+    private static void writeString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
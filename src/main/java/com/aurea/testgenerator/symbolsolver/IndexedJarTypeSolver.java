@@ -0,0 +1,129 @@
+package com.aurea.testgenerator.symbolsolver;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Solves types from all jars of a {@link JarClassIndex}. Unlike {@code JarTypeSolver} nothing is read up front: a jar
+ * is opened the first time one of its classes is asked for, and only that class file is loaded.
+ */
+public class IndexedJarTypeSolver implements TypeSolver {
+
+    private final JarClassIndex index;
+    private final ClassPool classPool = new ClassPool(false);
+    private final Map<Path, ZipFile> openJars = new ConcurrentHashMap<>();
+    private TypeSolver parent;
+
+    public IndexedJarTypeSolver(JarClassIndex index) {
+        this.index = index;
+        classPool.appendClassPath(new IndexedClassPath());
+        classPool.appendSystemPath();
+    }
+
+    public JarClassIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        Optional<JarClassIndex.Location> location = index.find(name);
+        if (!location.isPresent()) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        try {
+            CtClass ctClass = classPool.get(location.get().getBinaryName());
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ZipFile open(Path jar) {
+        return openJars.computeIfAbsent(jar, path -> {
+            try {
+                return new ZipFile(path.toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedJarTypeSolver{" + index.jarCount() + " jars, " + index.size() + " classes}";
+    }
+
+    private class IndexedClassPath implements ClassPath {
+
+        @Override
+        public InputStream openClassfile(String classname) throws NotFoundException {
+            JarClassIndex.Location location = locate(classname).orElseThrow(() -> new NotFoundException(classname));
+            try {
+                ZipFile jar = open(location.getJar());
+                ZipEntry entry = jar.getEntry(location.getEntry());
+                if (entry == null) {
+                    throw new NotFoundException(classname + " is no longer in " + location.getJar());
+                }
+                return jar.getInputStream(entry);
+            } catch (IOException | UncheckedIOException e) {
+                throw new NotFoundException(classname, e);
+            }
+        }
+
+        @Override
+        public URL find(String classname) {
+            return locate(classname).map(location -> {
+                try {
+                    return new URL("jar:" + location.getJar().toUri() + "!/" + location.getEntry());
+                } catch (MalformedURLException e) {
+                    return null;
+                }
+            }).orElse(null);
+        }
+
+        @Override
+        public void close() {
+            for (ZipFile jar : openJars.values()) {
+                try {
+                    jar.close();
+                } catch (IOException ignored) {
+                    // the jar is not used any more
+                }
+            }
+            openJars.clear();
+        }
+
+        private Optional<JarClassIndex.Location> locate(String binaryName) {
+            return index.find(binaryName.replace('$', '.'))
+                    .filter(location -> location.getBinaryName().equals(binaryName));
+        }
+    }
+}
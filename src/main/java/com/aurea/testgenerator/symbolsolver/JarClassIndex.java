@@ -0,0 +1,220 @@
+package com.aurea.testgenerator.symbolsolver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Maps type names to the jar entry holding their class file. Jars are listed once and the listing is kept in an
+ * index file, so later runs only re-read jars whose size or modification time changed. When several jars contain the
+ * same type the first one wins, as with a list of {@code JarTypeSolver}s.
+ */
+public final class JarClassIndex {
+
+    private static final Logger logger = LogManager.getLogger(JarClassIndex.class.getSimpleName());
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final List<Jar> jars;
+    private final Map<String, Location> locations = new HashMap<>();
+    private final Set<String> packages = new TreeSet<>();
+    private final int rescanned;
+
+    private JarClassIndex(List<Jar> jars, int rescanned) {
+        this.jars = jars;
+        this.rescanned = rescanned;
+        for (Jar jar : jars) {
+            for (String entry : jar.entries) {
+                locations.putIfAbsent(typeName(entry), new Location(jar.path, entry));
+                int slash = entry.lastIndexOf('/');
+                packages.add(slash < 0 ? "" : entry.substring(0, slash).replace('/', '.'));
+            }
+        }
+    }
+
+    /**
+     * @param indexFile where the listing is kept between runs, {@code null} to list every jar on each run
+     */
+    public static JarClassIndex load(List<Path> jarFiles, Path indexFile) {
+        Map<Path, Jar> previous = indexFile == null ? Collections.emptyMap() : read(indexFile);
+        List<Jar> jars = new ArrayList<>(jarFiles.size());
+        int rescanned = 0;
+        for (Path jarFile : jarFiles) {
+            Path path = jarFile.toAbsolutePath().normalize();
+            try {
+                long size = Files.size(path);
+                long lastModified = Files.getLastModifiedTime(path).toMillis();
+                Jar jar = previous.get(path);
+                if (jar == null || jar.size != size || jar.lastModified != lastModified) {
+                    jar = new Jar(path, size, lastModified, list(path));
+                    rescanned++;
+                }
+                jars.add(jar);
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable jar " + path, e);
+            }
+        }
+        if (indexFile != null && (rescanned > 0 || previous.size() != jars.size())) {
+            write(indexFile, jars);
+        }
+        JarClassIndex index = new JarClassIndex(jars, rescanned);
+        logger.info("Jar index: " + jars.size() + " jars (" + rescanned + " listed), " + index.size() + " classes");
+        return index;
+    }
+
+    public Optional<Location> find(String typeName) {
+        return Optional.ofNullable(locations.get(typeName));
+    }
+
+    public Optional<Path> jarOf(String typeName) {
+        return find(typeName).map(Location::getJar);
+    }
+
+    public Set<String> packages() {
+        return Collections.unmodifiableSet(packages);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public int jarCount() {
+        return jars.size();
+    }
+
+    public int getRescanned() {
+        return rescanned;
+    }
+
+    private static List<String> list(Path jar) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (!entry.isDirectory() && entry.getName().endsWith(CLASS_EXTENSION)) {
+                    entries.add(entry.getName());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String typeName(String entry) {
+        return binaryName(entry).replace('$', '.');
+    }
+
+    private static String binaryName(String entry) {
+        return entry.substring(0, entry.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    private static Map<Path, Jar> read(Path indexFile) {
+        Map<Path, Jar> jars = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return jars;
+            }
+            int jarCount = in.readInt();
+            for (int i = 0; i < jarCount; i++) {
+                Path path = Paths.get(in.readUTF());
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                int entryCount = in.readInt();
+                List<String> entries = new ArrayList<>(entryCount);
+                for (int j = 0; j < entryCount; j++) {
+                    entries.add(in.readUTF());
+                }
+                jars.put(path, new Jar(path, size, lastModified, entries));
+            }
+        } catch (NoSuchFileException e) {
+            logger.debug("No jar index at " + indexFile);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable jar index " + indexFile, e);
+            jars.clear();
+        }
+        return jars;
+    }
+
+    private static void write(Path indexFile, List<Jar> jars) {
+        try {
+            Path dir = indexFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(jars.size());
+                for (Jar jar : jars) {
+                    out.writeUTF(jar.path.toString());
+                    out.writeLong(jar.size);
+                    out.writeLong(jar.lastModified);
+                    out.writeInt(jar.entries.size());
+                    for (String entry : jar.entries) {
+                        out.writeUTF(entry);
+                    }
+                }
+            }
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save jar index " + indexFile, e);
+        }
+    }
+
+    public static final class Location {
+        private final Path jar;
+        private final String entry;
+
+        Location(Path jar, String entry) {
+            this.jar = jar;
+            this.entry = entry;
+        }
+
+        public Path getJar() {
+            return jar;
+        }
+
+        public String getEntry() {
+            return entry;
+        }
+
+        public String getBinaryName() {
+            return JarClassIndex.binaryName(entry);
+        }
+    }
+
+    private static final class Jar {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private final List<String> entries;
+
+        Jar(Path path, long size, long lastModified, List<String> entries) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.aurea.testgenerator.symbolsolver;
+
+import com.aurea.testgenerator.generation.GenerationBudget;
+import com.aurea.testgenerator.incremental.DependencyTracker;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replacement for {@code CombinedTypeSolver} that only asks the solvers registered for the package of a name, in
+ * registration order. A package also routes all its subpackages, so "java" covers java.util. Names no solver knows
+ * are remembered and answered without any lookup next time. Every lookup is a {@link GenerationBudget} checkpoint.
+ */
+public class RoutingTypeSolver implements TypeSolver {
+
+    private static final Logger logger = LogManager.getLogger(RoutingTypeSolver.class.getSimpleName());
+
+    public static final Set<String> JRE_PACKAGES = Collections.unmodifiableSet(new TreeSet<>(Arrays.asList("java", "javax")));
+
+    private final List<TypeSolver> solvers = new ArrayList<>();
+    private final Map<String, BitSet> routes = new HashMap<>();
+    private final Set<String> unsolved = ConcurrentHashMap.newKeySet();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder solverCalls = new LongAdder();
+    private TypeSolver parent;
+
+    public RoutingTypeSolver add(TypeSolver solver, Collection<String> packages) {
+        int id = solvers.size();
+        solvers.add(solver);
+        solver.setParent(this);
+        for (String packageName : packages) {
+            routes.computeIfAbsent(packageName, p -> new BitSet()).set(id);
+        }
+        return this;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        GenerationBudget.checkpoint();
+        lookups.increment();
+        if (unsolved.contains(name)) {
+            negativeHits.increment();
+            DependencyTracker.unresolved(name);
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        BitSet candidates = route(name);
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            solverCalls.increment();
+            SymbolReference<ResolvedReferenceTypeDeclaration> reference = solvers.get(id).tryToSolveType(name);
+            if (reference.isSolved()) {
+                return reference;
+            }
+        }
+        unsolved.add(name);
+        DependencyTracker.unresolved(name);
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    private BitSet route(String name) {
+        BitSet candidates = new BitSet();
+        BitSet defaultPackage = routes.get("");
+        if (defaultPackage != null && name.indexOf('.') < 0) {
+            candidates.or(defaultPackage);
+        }
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            BitSet solversOfPackage = routes.get(name.substring(0, dot));
+            if (solversOfPackage != null) {
+                candidates.or(solversOfPackage);
+            }
+        }
+        return candidates;
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.sum();
+    }
+
+    public long getSolverCalls() {
+        return solverCalls.sum();
+    }
+
+    public void logStats() {
+        logger.info(String.format("Type solver: %d lookups, %d answered from negative cache, %d solver calls for %d solvers",
+                getLookups(), getNegativeHits(), getSolverCalls(), solvers.size()));
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingTypeSolver{" + solvers.size() + " solvers, " + routes.size() + " packages}";
+    }
+}
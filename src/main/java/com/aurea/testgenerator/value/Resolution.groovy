@@ -1,5 +1,6 @@
 package com.aurea.testgenerator.value
 
+import com.aurea.testgenerator.ast.ResolutionMemo
 import com.github.javaparser.ast.expr.Expression
 import com.github.javaparser.ast.expr.MethodCallExpr
 import com.github.javaparser.ast.expr.ObjectCreationExpr
@@ -17,50 +18,64 @@ import com.github.javaparser.resolution.types.ResolvedType
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference
 import com.github.javaparser.symbolsolver.resolution.SymbolSolver
+import com.aurea.testgenerator.generation.GenerationException
 import com.jasongoodwin.monads.Try
+import com.jasongoodwin.monads.TrySupplier
 
 
 class Resolution {
+    /**
+     * Like {@link Try#ofFailable}, but lets a {@link GenerationException}, such as a unit running out of time,
+     * abort the generation instead of turning it into an unresolved symbol.
+     */
+    static <T> Try<T> attempt(TrySupplier<T> resolution) {
+        Try.ofFailable(resolution).onFailure { Throwable e ->
+            if (e instanceof GenerationException) {
+                throw e
+            }
+        }
+    }
+
     static <T> Optional<T> tryResolve(Resolvable<T> resolvable) {
-        Try.ofFailable { resolvable.resolve() }.toOptional()
+        attempt { resolvable.resolve() }.toOptional()
     }
 
     static Optional<ResolvedType> tryResolve(Type type) {
-        Try.ofFailable { type.resolve() }.toOptional()
+        attempt { type.resolve() }.toOptional()
     }
 
     static Optional<ResolvedType> tryCalculateResolvedType(Expression expression) {
-        Try.ofFailable { expression.calculateResolvedType() }.toOptional()
+        attempt { expression.calculateResolvedType() }.toOptional()
     }
 
     static Optional<ResolvedType> tryGetType(ResolvedFieldDeclaration field) {
-        Try.ofFailable { field.getType() }.toOptional()
+        attempt { field.getType() }.toOptional()
     }
 
     static Optional<ResolvedMethodDeclaration> tryResolve(MethodCallExpr methodCall) {
-        Try.ofFailable { methodCall.resolveInvokedMethod() }.toOptional()
+        attempt { methodCall.resolveInvokedMethod() }.toOptional()
     }
 
     static SymbolReference<ResolvedReferenceTypeDeclaration> trySolveType(JavaParserFacade solver, String name) {
-        Try.ofFailable { solver.typeSolver.tryToSolveType(name) }
+        attempt { solver.typeSolver.tryToSolveType(name) }
            .orElse(SymbolReference.unsolved(ResolvedReferenceTypeDeclaration))
     }
 
     static SymbolReference<? extends ResolvedValueDeclaration> trySolveSymbolInType(SymbolSolver symbolSolver, ResolvedTypeDeclaration typeDeclaration, String name) {
-        Try.ofFailable { symbolSolver.solveSymbolInType(typeDeclaration, name) }
+        attempt { symbolSolver.solveSymbolInType(typeDeclaration, name) }
            .orElse(SymbolReference.unsolved(ResolvedValueDeclaration))
     }
 
     static SymbolReference<? extends ResolvedValueDeclaration> trySolve(JavaParserFacade solver, SimpleName name) {
-        Try.ofFailable { solver.solve(name) }
+        attempt { ResolutionMemo.memoize(name, SymbolReference) { solver.solve(name) } }
            .orElse(SymbolReference.unsolved(ResolvedValueDeclaration))
     }
 
     static Optional<ResolvedConstructorDeclaration> tryResolveInvokedConstructor(ObjectCreationExpr objectCreationExpr) {
-        Try.ofFailable { objectCreationExpr.resolveInvokedConstructor() }.toOptional()
+        attempt { objectCreationExpr.resolveInvokedConstructor() }.toOptional()
     }
 
     static Optional<ResolvedConstructorDeclaration> tryResolveInvokedConstructor(ExplicitConstructorInvocationStmt explicitConstructorInvocationStmt) {
-        Try.ofFailable { explicitConstructorInvocationStmt.resolveInvokedConstructor() }.toOptional()
+        attempt { explicitConstructorInvocationStmt.resolveInvokedConstructor() }.toOptional()
     }
 }
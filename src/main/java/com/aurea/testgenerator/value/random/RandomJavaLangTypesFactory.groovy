@@ -21,7 +21,6 @@ import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParse
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
 import com.github.javaparser.utils.Pair
 import one.util.streamex.StreamEx
-import org.apache.commons.lang.math.RandomUtils
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
 
@@ -109,13 +108,13 @@ class RandomJavaLangTypesFactory implements ReferenceTypeFactory {
         }
         if (Types.isDate(type)) {
             DependableNode<Expression> expression = DependableNode.from(JavaParser.parseExpression(
-                    "new java.util.Date(${RandomUtils.nextInt(100_000)})"))
+                    "new java.util.Date(${UnitRandom.current().nextInt(100_000)})"))
             expression.dependency.imports << Imports.DATE
             return Optional.of(expression)
         }
         if (Types.isSqlDate(type)) {
             DependableNode<Expression> expression = DependableNode.from(JavaParser.parseExpression(
-                    "new java.sql.Date(${RandomUtils.nextInt(100_000)})"))
+                    "new java.sql.Date(${UnitRandom.current().nextInt(100_000)})"))
             expression.dependency.imports << Imports.SQL_DATE
             return Optional.of(expression)
         }
@@ -11,8 +11,6 @@ import com.github.javaparser.ast.expr.IntegerLiteralExpr
 import com.github.javaparser.ast.expr.LongLiteralExpr
 import com.github.javaparser.ast.type.PrimitiveType
 import com.github.javaparser.resolution.types.ResolvedPrimitiveType
-import org.apache.commons.lang3.RandomStringUtils
-import org.apache.commons.lang3.RandomUtils
 import org.springframework.stereotype.Component
 
 import static com.github.javaparser.ast.type.PrimitiveType.Primitive.BOOLEAN
@@ -33,9 +31,9 @@ class RandomPrimitiveValueFactory implements PrimitiveValueFactory {
     DependableNode<Expression> get(PrimitiveType type) {
         switch (type.getType()) {
             case BOOLEAN:
-                return DependableNode.from(new BooleanLiteralExpr(RandomUtils.nextBoolean()))
+                return DependableNode.from(new BooleanLiteralExpr(UnitRandom.current().nextBoolean()))
             case CHAR:
-                return DependableNode.from(new CharLiteralExpr(RandomStringUtils.randomAlphabetic(1)))
+                return DependableNode.from(new CharLiteralExpr(UnitRandom.alphabetic(1)))
             case BYTE:
                 CastExpr castExpr = new CastExpr(PrimitiveType.byteType(), new IntegerLiteralExpr(nextInt(Byte.MIN_VALUE, Byte.MAX_VALUE) % READABILITY_BOUND))
                 return DependableNode.from(castExpr)
@@ -43,13 +41,13 @@ class RandomPrimitiveValueFactory implements PrimitiveValueFactory {
                 CastExpr castExpr = new CastExpr(PrimitiveType.shortType(), new IntegerLiteralExpr(nextInt(Short.MIN_VALUE, Short.MAX_VALUE) % READABILITY_BOUND))
                 return DependableNode.from(castExpr)
             case INT:
-                return DependableNode.from(new IntegerLiteralExpr(RandomUtils.nextInt() % READABILITY_BOUND))
+                return DependableNode.from(new IntegerLiteralExpr(nextInt(0, Integer.MAX_VALUE) % READABILITY_BOUND))
             case LONG:
-                return DependableNode.from(new LongLiteralExpr(RandomUtils.nextLong().toString() + "L"))
+                return DependableNode.from(new LongLiteralExpr(nextLong().toString() + "L"))
             case FLOAT:
-                return DependableNode.from(new DoubleLiteralExpr(RandomUtils.nextFloat()))
+                return DependableNode.from(new DoubleLiteralExpr(nextFloat()))
             case DOUBLE:
-                return DependableNode.from(new DoubleLiteralExpr(RandomUtils.nextDouble()))
+                return DependableNode.from(new DoubleLiteralExpr(nextDouble()))
         }
         throw new UnsupportedOperationException("Unknown primitive type: $type")
     }
@@ -57,9 +55,9 @@ class RandomPrimitiveValueFactory implements PrimitiveValueFactory {
     @Override
     DependableNode<Expression> get(ResolvedPrimitiveType type) {
         if (type == ResolvedPrimitiveType.BOOLEAN) {
-            return DependableNode.from(new BooleanLiteralExpr(RandomUtils.nextBoolean()))
+            return DependableNode.from(new BooleanLiteralExpr(UnitRandom.current().nextBoolean()))
         } else if (type == ResolvedPrimitiveType.CHAR) {
-            return DependableNode.from(new CharLiteralExpr(RandomStringUtils.randomAlphabetic(1)))
+            return DependableNode.from(new CharLiteralExpr(UnitRandom.alphabetic(1)))
         } else if (type == ResolvedPrimitiveType.BYTE) {
             CastExpr castExpr = new CastExpr(PrimitiveType.byteType(), new IntegerLiteralExpr(nextInt(Byte.MIN_VALUE, Byte.MAX_VALUE) % READABILITY_BOUND))
             return DependableNode.from(castExpr)
@@ -67,18 +65,30 @@ class RandomPrimitiveValueFactory implements PrimitiveValueFactory {
             CastExpr castExpr = new CastExpr(PrimitiveType.shortType(), new IntegerLiteralExpr(nextInt(Short.MIN_VALUE, Short.MAX_VALUE) % READABILITY_BOUND))
             return DependableNode.from(castExpr)
         } else if (type == ResolvedPrimitiveType.INT) {
-            return DependableNode.from(new IntegerLiteralExpr(RandomUtils.nextInt() % READABILITY_BOUND))
+            return DependableNode.from(new IntegerLiteralExpr(nextInt(0, Integer.MAX_VALUE) % READABILITY_BOUND))
         } else if (type == ResolvedPrimitiveType.LONG) {
-            return DependableNode.from(new LongLiteralExpr(RandomUtils.nextLong().toString() + "L"))
+            return DependableNode.from(new LongLiteralExpr(nextLong().toString() + "L"))
         } else if (type == ResolvedPrimitiveType.FLOAT) {
-            return DependableNode.from(new DoubleLiteralExpr(RandomUtils.nextFloat().toString() + "F"))
+            return DependableNode.from(new DoubleLiteralExpr(nextFloat().toString() + "F"))
         } else if (type == ResolvedPrimitiveType.DOUBLE) {
-            return DependableNode.from(new DoubleLiteralExpr(RandomUtils.nextDouble()))
+            return DependableNode.from(new DoubleLiteralExpr(nextDouble()))
         }
         throw new UnsupportedOperationException("Unknown primitive type: $type")
     }
 
     private static int nextInt(int startInclusive, int endExclusive) {
-        RandomUtils.nextInt(0, endExclusive - startInclusive) + startInclusive
+        UnitRandom.current().nextInt(endExclusive - startInclusive) + startInclusive
+    }
+
+    private static long nextLong() {
+        UnitRandom.current().nextLong() & Long.MAX_VALUE
+    }
+
+    private static float nextFloat() {
+        (float) (Float.MAX_VALUE * UnitRandom.current().nextFloat())
+    }
+
+    private static double nextDouble() {
+        Double.MAX_VALUE * UnitRandom.current().nextDouble()
     }
 }
@@ -1,26 +1,22 @@
 package com.aurea.testgenerator.value.random
 
-import com.github.javafaker.Faker
-import org.apache.commons.lang3.RandomUtils
-
 final class RandomStringPool {
 
-    private static final Faker FAKER = new Faker()
     private static final List<Closure<String>> PROVIDERS = Collections.unmodifiableList(Arrays.asList(
-            { FAKER.space().planet() },
-            { FAKER.space().moon() },
-            { FAKER.space().galaxy() },
-            { FAKER.space().nebula() },
-            { FAKER.space().starCluster() },
-            { FAKER.space().constellation() },
-            { FAKER.space().star() },
-            { FAKER.space().agency() },
-            { FAKER.space().agencyAbbreviation() },
-            { FAKER.space().nasaSpaceCraft() },
-            { FAKER.space().company() },
-            { FAKER.space().distanceMeasurement() }))
+            { UnitRandom.faker().space().planet() },
+            { UnitRandom.faker().space().moon() },
+            { UnitRandom.faker().space().galaxy() },
+            { UnitRandom.faker().space().nebula() },
+            { UnitRandom.faker().space().starCluster() },
+            { UnitRandom.faker().space().constellation() },
+            { UnitRandom.faker().space().star() },
+            { UnitRandom.faker().space().agency() },
+            { UnitRandom.faker().space().agencyAbbreviation() },
+            { UnitRandom.faker().space().nasaSpaceCraft() },
+            { UnitRandom.faker().space().company() },
+            { UnitRandom.faker().space().distanceMeasurement() }))
 
     static String next() {
-        PROVIDERS[RandomUtils.nextInt(0, PROVIDERS.size())].call()
+        PROVIDERS[UnitRandom.current().nextInt(PROVIDERS.size())].call()
     }
 }
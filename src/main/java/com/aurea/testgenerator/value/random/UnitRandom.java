@@ -0,0 +1,41 @@
+package com.aurea.testgenerator.value.random;
+
+import com.github.javafaker.Faker;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.RandomStringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Source of the arbitrary values put into generated tests. It is reseeded on the current thread before a generator
+ * runs over a unit, so the same sources give the same tests whatever the number of threads or the order of units.
+ */
+public final class UnitRandom {
+
+    private static final ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(Random::new);
+    private static final ThreadLocal<Faker> FAKER = ThreadLocal.withInitial(() -> new Faker(RANDOM.get()));
+
+    private UnitRandom() {
+    }
+
+    public static void reseed(String key) {
+        RANDOM.get().setSeed(Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong());
+    }
+
+    public static Random current() {
+        return RANDOM.get();
+    }
+
+    static Faker faker() {
+        return FAKER.get();
+    }
+
+    public static String alphabetic(int count) {
+        return RandomStringUtils.random(count, 0, 0, true, false, null, current());
+    }
+
+    public static String alphanumeric(int count) {
+        return RandomStringUtils.random(count, 0, 0, true, true, null, current());
+    }
+}
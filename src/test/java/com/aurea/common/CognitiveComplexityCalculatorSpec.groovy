@@ -0,0 +1,57 @@
+package com.aurea.common
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.body.CallableDeclaration
+import com.github.javaparser.ast.body.MethodDeclaration
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CognitiveComplexityCalculatorSpec extends Specification {
+
+    @Unroll
+    def "complexity of #body is #expected"() {
+        expect:
+        CognitiveComplexityCalculator.calculate(method("int foo(int a, boolean b, boolean c) { $body }")) == expected
+
+        where:
+        body                                                       | expected
+        'return a;'                                                | 0
+        'if (a > 0) { return 1; } return 0;'                       | 2
+        'if (b) { return 1; } else if (c) { return 2; } else { return 3; }' | 3
+        'for (int i = 0; i < a; i++) { if (b) { a++; } } return a;' | 4
+        'return b && c || !b ? 1 : 0;'                             | 4
+        'synchronized (this) { while (b) { a++; } } return a;'     | 3
+        'return foo(a - 1, b, c);'                                 | 2
+    }
+
+    def "records the complexity of every callable of a unit in one walk"() {
+        setup:
+        CompilationUnit cu = JavaParser.parse '''
+            class Foo {
+                Foo(int a) { if (a > 0) { a++; } }
+                int bar(int a) { return a > 0 ? a : -a; }
+                Runnable baz(boolean b) {
+                    return () -> {
+                        new Object() {
+                            void run() { if (b) { System.out.println(); } }
+                        };
+                    };
+                }
+            }
+        '''
+
+        when:
+        Map<CallableDeclaration, Integer> complexities = CognitiveComplexityCalculator.ofUnit(cu)
+
+        then:
+        complexities.size() == 4
+        complexities.every { callable, complexity -> CognitiveComplexityCalculator.calculate(callable) == complexity }
+        CognitiveComplexityCalculator.ofUnit(cu).is(complexities)
+        CognitiveComplexityCalculator.cached(cu.getType(0).getMethodsByName('bar')[0]) == 2
+    }
+
+    private static MethodDeclaration method(String code) {
+        JavaParser.parse("class Foo { $code }").getType(0).getMember(0) as MethodDeclaration
+    }
+}
@@ -1,14 +1,21 @@
 package com.aurea.testgenerator
 
+import com.aurea.coverage.unit.ClassCoverageImpl
+import com.aurea.coverage.unit.MethodCoverage
 import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.coverage.CoverageGuide
 import com.aurea.testgenerator.coverage.CoverageService
+import com.aurea.testgenerator.coverage.MethodCoverageQuery
 import com.aurea.testgenerator.coverage.NoCoverageService
 import com.aurea.testgenerator.extensions.Extensions
+import com.aurea.testgenerator.generation.ComplexityFilter
+import com.aurea.testgenerator.generation.GenerationBudget
 import com.aurea.testgenerator.generation.TestGenerator
 import com.aurea.testgenerator.generation.UnitTestGenerator
 import com.aurea.testgenerator.generation.assertions.SoftAssertions
 import com.aurea.testgenerator.generation.names.NomenclatureFactory
 import com.aurea.testgenerator.generation.names.StandardTestClassNomenclatureFactory
+import com.aurea.testgenerator.incremental.IncrementalGeneration
 import com.aurea.testgenerator.reporting.CoverageReporter
 import com.aurea.testgenerator.reporting.TestGeneratorResultReporter
 import com.aurea.testgenerator.source.JavaSourceFinder
@@ -33,6 +40,7 @@ import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.junit.Assert
 import org.springframework.context.ApplicationEventPublisher
+import org.springframework.core.env.StandardEnvironment
 import spock.lang.Specification
 import java.util.regex.Pattern
 
@@ -51,6 +59,7 @@ abstract class MatcherPipelineTest extends Specification {
     UnitTestGenerator unitTestGenerator
     CoverageService coverageService
     ValueFactory valueFactory
+    TestGenerator generator
     TestGeneratorResultReporter reporter = new TestGeneratorResultReporter(mock(ApplicationEventPublisher))
     CoverageReporter visitReporter = new CoverageReporter(mock(ApplicationEventPublisher))
     NomenclatureFactory nomenclatureFactory = new NomenclatureFactory(new StandardTestClassNomenclatureFactory(), cfg)
@@ -70,7 +79,7 @@ abstract class MatcherPipelineTest extends Specification {
                 new ArbitraryPrimitiveValuesFactory())
 
         source = new PathUnitSource(new JavaSourceFinder(cfg), cfg, SourceFilters.empty(), getSymbolSolver())
-        TestGenerator generator = generator()
+        generator = generator()
         unitTestGenerator = new UnitTestGenerator([generator], nomenclatureFactory)
         unitTestWriter = new UnitTestWriter(cfg,
                 [new OverrideClassWriteStrategy(), 
@@ -82,7 +91,32 @@ abstract class MatcherPipelineTest extends Specification {
                 source,
                 unitTestGenerator,
                 SourceFilters.empty(),
-                unitTestWriter)
+                unitTestWriter,
+                new IncrementalGeneration(cfg, [generator], new StandardEnvironment(), new ReflectionTypeSolver()),
+                cfg)
+    }
+
+    /**
+     * Marks the given methods as covered by existing tests, so generators must leave them alone.
+     */
+    void skipCovered(String... coveredMethods) {
+        CoverageService coverage = Stub(CoverageService) {
+            getMethodCoverage(_) >> { MethodCoverageQuery query ->
+                String name = query.method.nameAsString
+                name in coveredMethods ? new MethodCoverage(name, 0, 0, 1, 0) : MethodCoverage.EMPTY
+            }
+            getTypeCoverage(_) >> ClassCoverageImpl.EMPTY
+        }
+        pipeline = new Pipeline(
+                source,
+                unitTestGenerator,
+                SourceFilters.empty(),
+                unitTestWriter,
+                new IncrementalGeneration(cfg, [generator], new StandardEnvironment(), new ReflectionTypeSolver()),
+                new CoverageGuide(coverage, 100, false, cfg.srcPath),
+                GenerationBudget.unlimited(),
+                ComplexityFilter.disabled(),
+                cfg)
     }
 
     String onClassCodeExpect(String code, String expectedTest) {
@@ -132,7 +166,7 @@ abstract class MatcherPipelineTest extends Specification {
 
         pipeline.start()
 
-        File resultingTest = cfg.outPath.resolve('sample').resolve('FooTest.java').toFile()
+        File resultingTest = cfg.outPath.resolve('sample').resolve('FooPatternTest.java').toFile()
 
         assertThat(resultingTest).doesNotExist()
     }
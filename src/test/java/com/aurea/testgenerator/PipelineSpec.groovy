@@ -0,0 +1,170 @@
+package com.aurea.testgenerator
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.coverage.CoverageGuide
+import com.aurea.testgenerator.generation.ComplexityFilter
+import com.aurea.testgenerator.generation.GenerationBudget
+import com.aurea.testgenerator.generation.TestGenerator
+import com.aurea.testgenerator.generation.TestGeneratorResult
+import com.aurea.testgenerator.generation.UnitTestGenerator
+import com.aurea.testgenerator.generation.ast.DependableNode
+import com.aurea.testgenerator.generation.names.NomenclatureFactory
+import com.aurea.testgenerator.generation.names.StandardTestClassNomenclatureFactory
+import com.aurea.testgenerator.incremental.IncrementalGeneration
+import com.aurea.testgenerator.source.JavaSourceFinder
+import com.aurea.testgenerator.source.PathUnitSource
+import com.aurea.testgenerator.source.SourceFilters
+import com.aurea.testgenerator.source.UnitTestWriter
+import com.aurea.testgenerator.value.PrimitiveValueFactory
+import com.aurea.testgenerator.value.ValueFactory
+import com.aurea.testgenerator.value.random.RandomJavaLangTypesFactory
+import com.aurea.testgenerator.value.random.RandomPrimitiveValueFactory
+import com.aurea.testgenerator.value.random.ValueFactoryImpl
+import com.github.javaparser.ast.Modifier
+import com.github.javaparser.ast.body.FieldDeclaration
+import com.github.javaparser.ast.body.MethodDeclaration
+import com.github.javaparser.ast.expr.VariableDeclarationExpr
+import com.github.javaparser.ast.stmt.BlockStmt
+import com.github.javaparser.ast.stmt.ExpressionStmt
+import com.github.javaparser.ast.type.VoidType
+import com.github.javaparser.symbolsolver.JavaSymbolSolver
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.springframework.core.env.StandardEnvironment
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class PipelineSpec extends Specification {
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    TestGenerator generator = { unit ->
+        MethodDeclaration test = new MethodDeclaration(EnumSet.of(Modifier.PUBLIC), new VoidType(), 'test' + unit.className)
+        [new TestGeneratorResult(tests: [DependableNode.from(test)])]
+    } as TestGenerator
+
+    def "output does not depend on the number of threads"() {
+        setup:
+        Path src = folder.newFolder('src').toPath()
+        (1..50).each {
+            Path file = src.resolve("sample/p${it % 7}/Foo${it}.java")
+            Files.createDirectories(file.parent)
+            file.toFile().write "package sample.p${it % 7}; class Foo${it} {}"
+        }
+
+        when:
+        Path singleThreaded = run(src, 1, 1)
+        Path multiThreaded = run(src, 8, 3)
+
+        then:
+        List<Path> expected = tests(singleThreaded)
+        expected.size() == 50
+        tests(multiThreaded) == expected
+        expected.every { singleThreaded.resolve(it).text == multiThreaded.resolve(it).text }
+    }
+
+    def "generated values do not depend on the number of threads"() {
+        setup:
+        Path src = folder.newFolder('src').toPath()
+        (1..30).each {
+            Path file = src.resolve("sample/p${it % 5}/Foo${it}.java")
+            Files.createDirectories(file.parent)
+            file.toFile().write "package sample.p${it % 5}; class Foo${it} { int i; long l; double d; char c; String s; java.util.Date date; }"
+        }
+        PrimitiveValueFactory primitives = new RandomPrimitiveValueFactory()
+        ValueFactory values = new ValueFactoryImpl(new RandomJavaLangTypesFactory(primitives, new ReflectionTypeSolver()), primitives)
+        generator = { unit ->
+            BlockStmt body = new BlockStmt()
+            unit.cu.findAll(FieldDeclaration).each { field ->
+                Optional<DependableNode<VariableDeclarationExpr>> variable = values.getVariable(field.variables[0].nameAsString, field.elementType)
+                variable.ifPresent { body.addStatement(new ExpressionStmt(it.node)) }
+            }
+            MethodDeclaration test = new MethodDeclaration(EnumSet.of(Modifier.PUBLIC), new VoidType(), 'test' + unit.className)
+            test.body = body
+            [new TestGeneratorResult(tests: [DependableNode.from(test)])]
+        } as TestGenerator
+
+        when:
+        Path singleThreaded = run(src, 1, 1)
+        Path multiThreaded = run(src, 4, 2)
+
+        then:
+        List<Path> expected = tests(singleThreaded)
+        expected.size() == 30
+        tests(multiThreaded) == expected
+        expected.every { Files.readAllBytes(singleThreaded.resolve(it)) == Files.readAllBytes(multiThreaded.resolve(it)) }
+        singleThreaded.resolve('sample/p1/Foo1PatternTest.java').text.contains('int i = ')
+    }
+
+    @Timeout(60)
+    def "an error in a generator does not stall the run"() {
+        setup:
+        Path src = folder.newFolder('src').toPath()
+        (1..5).each {
+            Path file = src.resolve("sample/Foo${it}.java")
+            Files.createDirectories(file.parent)
+            file.toFile().write "package sample; class Foo${it} {}"
+        }
+        TestGenerator healthy = generator
+        generator = { unit ->
+            if (unit.className == 'Foo3') {
+                throw new StackOverflowError()
+            }
+            healthy.generate(unit)
+        } as TestGenerator
+
+        when:
+        Path out = run(src, 2, 1)
+
+        then:
+        tests(out).collect { it.fileName.toString() } == ['Foo1PatternTest.java', 'Foo2PatternTest.java', 'Foo4PatternTest.java', 'Foo5PatternTest.java']
+    }
+
+    def "units generated in the slow pass are parsed again"() {
+        setup:
+        Path src = folder.newFolder('src').toPath()
+        (1..6).each {
+            Path file = src.resolve("sample/Foo${it}.java")
+            Files.createDirectories(file.parent)
+            String body = it % 2 ? 'void run(boolean b) { if (b) { if (!b) { return; } } }' : ''
+            file.toFile().write "package sample; class Foo${it} { $body }"
+        }
+
+        when:
+        Path out = run(src, 2, 1, new ComplexityFilter(0, 1))
+
+        then:
+        tests(out).collect { it.fileName.toString() } == (1..6).collect { "Foo${it}PatternTest.java".toString() }
+    }
+
+    private Path run(Path src, int threads, int queueCapacity, ComplexityFilter complexityFilter = ComplexityFilter.disabled()) {
+        ProjectConfiguration cfg = new ProjectConfiguration(
+                src: src.toString(),
+                out: folder.newFolder().absolutePath,
+                threads: threads,
+                queueCapacity: queueCapacity)
+        NomenclatureFactory nomenclatures = new NomenclatureFactory(new StandardTestClassNomenclatureFactory(), cfg)
+        UnitTestWriter writer = new UnitTestWriter(cfg, [])
+        Pipeline pipeline = new Pipeline(
+                new PathUnitSource(new JavaSourceFinder(cfg), cfg, SourceFilters.empty(), new JavaSymbolSolver(new ReflectionTypeSolver())),
+                new UnitTestGenerator([generator], nomenclatures),
+                SourceFilters.empty(),
+                writer,
+                new IncrementalGeneration(cfg, [generator], new StandardEnvironment(), new ReflectionTypeSolver()),
+                CoverageGuide.disabled(),
+                GenerationBudget.unlimited(),
+                complexityFilter,
+                cfg)
+        pipeline.start()
+        cfg.outPath
+    }
+
+    private static List<Path> tests(Path out) {
+        Files.walk(out).filter { Files.isRegularFile(it) }.map { out.relativize(it) }.sorted().collect()
+    }
+}
@@ -0,0 +1,82 @@
+package com.aurea.testgenerator.ast
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.expr.Expression
+import com.github.javaparser.ast.expr.MethodCallExpr
+import com.github.javaparser.ast.expr.NameExpr
+import com.github.javaparser.resolution.types.ResolvedType
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
+import org.springframework.context.ApplicationEventPublisher
+import spock.lang.Specification
+
+class ResolutionMemoSpec extends Specification {
+
+    CompilationUnit cu = JavaParser.parse('class Foo { String bar() { return "a".trim(); } }')
+    Expression call = cu.findFirst(MethodCallExpr).get()
+
+    def "resolves each node and operation once per unit"() {
+        setup:
+        int resolutions = 0
+
+        when:
+        def first = ResolutionMemo.memoize(call, 'type') { resolutions++; 'String' }
+        def second = ResolutionMemo.memoize(call, 'type') { resolutions++; 'other' }
+        def declaration = ResolutionMemo.memoize(call, 'declaration') { resolutions++; null }
+        def cachedNull = ResolutionMemo.memoize(call, 'declaration') { resolutions++; 'other' }
+
+        then:
+        first == 'String'
+        second == 'String'
+        declaration == null
+        cachedNull == null
+        resolutions == 2
+    }
+
+    def "rethrows a memoized failure without resolving again"() {
+        setup:
+        int resolutions = 0
+        RuntimeException failure = new IllegalStateException('unsolved')
+
+        when:
+        ResolutionMemo.memoize(call, 'type') { resolutions++; throw failure }
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        ResolutionMemo.memoize(call, 'type') { resolutions++; 'String' }
+
+        then:
+        IllegalStateException again = thrown()
+        again.is(failure)
+        resolutions == 1
+    }
+
+    def "does not memoize nodes outside of a compilation unit"() {
+        setup:
+        int resolutions = 0
+        NameExpr detached = new NameExpr('x')
+
+        when:
+        2.times { ResolutionMemo.memoize(detached, 'type') { resolutions++ } }
+
+        then:
+        resolutions == 2
+    }
+
+    def "symbol resolver shares results across callers of the same unit"() {
+        setup:
+        ReportingSymbolResolver resolver = new ReportingSymbolResolver(new ReflectionTypeSolver(), Mock(ApplicationEventPublisher))
+        long hits = ResolutionMemo.hits
+
+        when:
+        ResolvedType first = resolver.calculateType(call)
+        ResolvedType second = resolver.calculateType(call)
+
+        then:
+        first.describe() == 'java.lang.String'
+        second.is(first)
+        ResolutionMemo.hits == hits + 1
+    }
+}
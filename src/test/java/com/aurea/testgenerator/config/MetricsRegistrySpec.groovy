@@ -0,0 +1,76 @@
+package com.aurea.testgenerator.config
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class MetricsRegistrySpec extends Specification {
+
+    def "counts calls recorded from many threads"() {
+        setup:
+        MetricsRegistry registry = new MetricsRegistry(null)
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+
+        when:
+        (1..8).each {
+            executor.submit { (1..10_000).each { registry.timer('Foo.bar()').record(it) } }
+        }
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        MetricsRegistry.Snapshot snapshot = registry.snapshots()[0]
+
+        then:
+        snapshot.count == 80_000
+        snapshot.totalNanos == 8 * (10_000L * 10_001 / 2)
+        snapshot.maxNanos == 10_000
+    }
+
+    def "percentiles are within the bucket precision"() {
+        setup:
+        MetricsRegistry registry = new MetricsRegistry(null)
+        (1..1000).each { registry.timer('Foo.bar()').record(it * 1000L) }
+
+        when:
+        MetricsRegistry.Snapshot snapshot = registry.snapshots()[0]
+
+        then:
+        snapshot.p50Nanos >= 500_000 && snapshot.p50Nanos <= 500_000 * 1.125
+        snapshot.p95Nanos >= 950_000 && snapshot.p95Nanos <= 950_000 * 1.125
+        snapshot.p99Nanos >= 990_000 && snapshot.p99Nanos <= 1_000_000
+        snapshot.meanNanos == 500_500
+    }
+
+    @Unroll
+    def "bucket of #value covers it"() {
+        expect:
+        int bucket = MetricsRegistry.Timer.bucket(value)
+        MetricsRegistry.Timer.upperBound(bucket) >= value
+        bucket == 0 || MetricsRegistry.Timer.upperBound(bucket - 1) < value
+
+        where:
+        value << [0L, 1L, 15L, 16L, 17L, 31L, 32L, 1000L, 123_456_789L, Long.MAX_VALUE]
+    }
+
+    def "dumps snapshots as json"() {
+        setup:
+        Path file = Files.createTempDirectory('metrics').resolve('out/metrics.json')
+        MetricsRegistry registry = new MetricsRegistry(file)
+        registry.timer('Foo.slow()').record(2_000_000)
+        registry.timer('Foo.fast()').record(10)
+
+        when:
+        registry.dump()
+        List json = new JsonSlurper().parse(file.toFile()) as List
+
+        then:
+        json*.name == ['Foo.slow()', 'Foo.fast()']
+        json[0].count == 1
+        json[0].p99Nanos == 2_000_000
+    }
+}
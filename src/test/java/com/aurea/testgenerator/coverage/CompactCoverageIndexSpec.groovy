@@ -0,0 +1,66 @@
+package com.aurea.testgenerator.coverage
+
+import com.aurea.coverage.unit.ClassCoverage
+import com.aurea.coverage.unit.MethodCoverage
+import spock.lang.Specification
+
+class CompactCoverageIndexSpec extends Specification {
+
+    CompactCoverageIndex index = new CompactCoverageIndex.Builder()
+            .addClass('org.example', 'Foo')
+            .addMethod('bar(Planet)', 4, 0, 2, 0)
+            .addMethod('bar(Planet)', 1, 0, 1, 0)
+            .addMethod('baz()', 0, 3, 0, 1)
+            .addClass('org.example', 'Foo$Inner')
+            .addMethod('baz()', 2, 2, 1, 1)
+            .addClass('org.other', 'Foo')
+            .build()
+
+    def "answers class coverage with all methods in report order"() {
+        when:
+        ClassCoverage coverage = index.classCoverage('org.example', 'Foo').get()
+
+        then:
+        coverage.name == 'Foo'
+        coverage.methodCoverages().collect { it.name } == ['bar(Planet)', 'bar(Planet)', 'baz()']
+        index.classCoverage('org.other', 'Foo').get().methodCoverages().count() == 0
+        !index.classCoverage('org.missing', 'Foo').present
+        !index.classCoverage('org.example', 'Bar').present
+    }
+
+    def "picks the biggest of methods sharing a name"() {
+        when:
+        MethodCoverage coverage = index.methodCoverage('org.example', 'Foo', 'bar(Planet)').get()
+
+        then:
+        coverage.total == 2
+        coverage.instructionCovered == 4
+        !index.methodCoverage('org.example', 'Foo', 'missing()').present
+        !index.methodCoverage('org.example', 'Foo', 'org.example').present
+    }
+
+    def "finds methods by name across classes"() {
+        expect:
+        index.methodCoverages('baz()').collect { it.uncovered } == [1, 1]
+        index.methodCoverages('Foo').empty
+        index.methodCoverages('missing()').empty
+    }
+
+    def "grows past the initial capacity"() {
+        setup:
+        CompactCoverageIndex.Builder builder = new CompactCoverageIndex.Builder()
+        (0..<5000).each { c ->
+            builder.addClass("p${c % 50}", "C$c")
+            (0..<3).each { m -> builder.addMethod("m$m(int)", c, m, 1, 0) }
+        }
+
+        when:
+        CompactCoverageIndex big = builder.build()
+
+        then:
+        big.classCount() == 5000
+        big.methodCount() == 15000
+        big.methodCoverage('p17', 'C4967', 'm2(int)').get().instructionCovered == 4967
+        big.methodCoverages('m1(int)').size() == 5000
+    }
+}
@@ -0,0 +1,129 @@
+package com.aurea.testgenerator.coverage
+
+import com.aurea.coverage.unit.ClassCoverageImpl
+import com.aurea.coverage.unit.MethodCoverage
+import com.aurea.testgenerator.generation.Skips
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.body.MethodDeclaration
+import com.github.javaparser.ast.body.TypeDeclaration
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class CoverageGuideSpec extends Specification {
+
+    static final Path SRC = Paths.get('src')
+
+    Map<String, MethodCoverage> methods = [:]
+    Map<String, List<MethodCoverage>> classes = [:]
+
+    CoverageService coverageService = Stub {
+        getMethodCoverage(_) >> { MethodCoverageQuery query ->
+            methods.getOrDefault(query.method.nameAsString, MethodCoverage.EMPTY)
+        }
+        getTypeCoverage(_) >> { ClassCoverageQuery query ->
+            String name = query.type.nameAsString
+            classes.containsKey(name) ? new ClassCoverageImpl(name, classes[name]) : ClassCoverageImpl.EMPTY
+        }
+        getClassCoverage(_, _) >> { String packageName, String className ->
+            Optional.ofNullable(classes[className]).map { new ClassCoverageImpl(className, it) }
+        }
+    }
+
+    def "marks methods covered above the threshold as skipped"() {
+        setup:
+        methods.covered = lines('covered', 9, 1)
+        methods.missed = lines('missed', 1, 9)
+        classes.Foo = [methods.covered, methods.missed]
+        Unit unit = unit('class Foo { void covered() {} void missed() {} }')
+
+        when:
+        boolean selected = new CoverageGuide(coverageService, 90, false, SRC).select(unit)
+
+        then:
+        selected
+        Skips.isSkipped(method(unit, 'covered'))
+        !Skips.isSkipped(method(unit, 'missed'))
+        !Skips.isSkipped(unit.cu.getType(0))
+    }
+
+    def "skips units whose types are all covered"() {
+        setup:
+        classes.Foo = [lines('foo', 10, 0)]
+        Unit unit = unit('class Foo { void foo() {} }')
+
+        expect:
+        !new CoverageGuide(coverageService, 100, false, SRC).select(unit)
+        Skips.isSkipped(method(unit, 'foo'))
+    }
+
+    def "does not skip anything without a threshold"() {
+        setup:
+        classes.Foo = [lines('foo', 10, 0)]
+        Unit unit = unit('class Foo { void foo() {} }')
+
+        expect:
+        new CoverageGuide(coverageService, null, false, SRC).select(unit)
+        !Skips.isSkipped(method(unit, 'foo'))
+    }
+
+    def "orders units by missed lines of their classes and drops covered ones"() {
+        setup:
+        classes.Small = [lines('a', 0, 2)]
+        classes.Large = [lines('b', 5, 20)]
+        classes.Done = [lines('c', 7, 0)]
+        List<Path> paths = ['Small', 'Unknown', 'Done', 'Large'].collect { SRC.resolve("org/example/${it}.java") }
+
+        when:
+        List<Path> ordered = new CoverageGuide(coverageService, 100, true, SRC).prioritize(paths)
+
+        then:
+        ordered*.fileName*.toString() == ['Unknown.java', 'Large.java', 'Small.java']
+    }
+
+    def "puts units without coverage first in their original order"() {
+        setup:
+        classes.Large = [lines('a', 5, 20)]
+        List<Path> paths = ['Large', 'Second', 'First'].collect { SRC.resolve("org/example/${it}.java") }
+
+        when:
+        List<Path> ordered = new CoverageGuide(coverageService, null, true, SRC).prioritize(paths)
+
+        then:
+        ordered*.fileName*.toString() == ['Second.java', 'First.java', 'Large.java']
+    }
+
+    def "looks classes up by the package of their path"() {
+        setup:
+        CoverageService service = Mock()
+
+        when:
+        new CoverageGuide(service, null, true, SRC).prioritize([SRC.resolve('module/src/main/java/org/example/Foo.java')])
+
+        then:
+        1 * service.getClassCoverage('org.example', 'Foo') >> Optional.empty()
+    }
+
+    def "keeps the order without coverageFirst"() {
+        setup:
+        List<Path> paths = [Paths.get('B.java'), Paths.get('A.java')]
+
+        expect:
+        new CoverageGuide(coverageService, 50, false, SRC).prioritize(paths).is(paths)
+    }
+
+    private static MethodCoverage lines(String name, int covered, int missed) {
+        new MethodCoverage(name, 0, 0, covered, missed)
+    }
+
+    private static Unit unit(String code) {
+        new Unit(JavaParser.parse(code), 'org.example.Foo', Paths.get(''))
+    }
+
+    private static MethodDeclaration method(Unit unit, String name) {
+        TypeDeclaration type = unit.cu.getType(0)
+        type.getMethodsByName(name)[0]
+    }
+}
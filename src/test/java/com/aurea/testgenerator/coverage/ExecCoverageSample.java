@@ -0,0 +1,17 @@
+package com.aurea.testgenerator.coverage;
+
+public class ExecCoverageSample {
+
+    public int covered(int value) {
+        int doubled = value * 2;
+        return doubled + 1;
+    }
+
+    public String uncovered(String[] values) {
+        StringBuilder result = new StringBuilder();
+        for (String value : values) {
+            result.append(value);
+        }
+        return result.toString();
+    }
+}
@@ -43,6 +43,30 @@ class JacocoCoverageRepositorySpec extends Specification {
         methodCoverage.get().getTotal() == 2
     }
 
+    def "loads only packages accepted by the filter"() {
+        setup:
+        Path xml = new File(getClass().getResource('with-inner-classes.xml').file).toPath()
+
+        when:
+        JacocoCoverageRepository repository = JacocoCoverageRepository.fromFile(xml, { it == 'org.example.innerness' })
+
+        then:
+        repository.getClassCoverage(ClassCoverageCriteria.of('org.example.innerness', 'Library$Shelf')).present
+        !repository.getClassCoverage(ClassCoverageCriteria.of('org.example.equals', 'EqualsExample')).present
+        repository.getMethodCoverages(MethodCoverageCriteria.of('equals(Object)')).empty
+    }
+
+    def "converts method descriptors to jacoco-parser names"() {
+        expect:
+        JacocoXmlLoader.methodName(name, desc) == expected
+
+        where:
+        name     | desc                                                         | expected
+        'repair' | '(Lorg/example/innerness/Library$Librarian;)Ljava/util/List;' | 'repair(Library.Librarian)'
+        'bar'    | '([Lorg/example/Dinosaur;I[[J)V'                             | 'bar(Dinosaur[], int, long[][])'
+        'run'    | '()V'                                                        | 'run()'
+    }
+
     Optional<MethodCoverage> getMethodCoverage(String jacocoXmlName, String packageName, String className, String methodName) {
         Path xml = new File(getClass().getResource(jacocoXmlName).file).toPath()
         JacocoCoverageRepository.fromFile(xml).getMethodCoverage(MethodCoverageCriteria.of(
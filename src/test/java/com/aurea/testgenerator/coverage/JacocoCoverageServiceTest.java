@@ -11,6 +11,7 @@ import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
@@ -123,6 +124,53 @@ public class JacocoCoverageServiceTest {
     }
 
 
+    @Test
+    public void methodCoverageIsFoundForConstructor() throws Exception {
+        service = serviceWithCoverageInFooClass(new MethodCoverage("<init>(Dinosaur[])", 10, 10, 10, 10));
+        ConstructorDeclaration constructor = fooDeclaration.addConstructor(Modifier.PUBLIC);
+        constructor.setParameters(nodeList(new Parameter(new ArrayType(JavaParser.parseClassOrInterfaceType("Dinosaur")), "id")));
+        MethodCoverageQuery query = MethodCoverageQuery.of(new Unit(newFooCu(), "org.example.Foo", Paths.get("")), fooDeclaration, constructor);
+
+        MethodCoverage methodCoverage = service.getMethodCoverage(query);
+
+        assertThat(methodCoverage.getName()).isEqualTo("<init>(Dinosaur[])");
+    }
+
+    @Test
+    public void constructorOfInnerClassTakesEnclosingInstance() throws Exception {
+        service = serviceWithInnerClassInFooClass("Inner", new MethodCoverage("<init>(Foo, Foo.Dinosaur)", 10, 10, 10, 10));
+        fooDeclaration.setMembers(nodeList(innerDeclaration, dinosaurDeclaration));
+        ConstructorDeclaration constructor = innerDeclaration.addConstructor(Modifier.PUBLIC);
+        constructor.addParameter("Dinosaur", "dinosaur");
+        MethodCoverageQuery query = MethodCoverageQuery.of(new Unit(newFooCu(), "org.example.Foo", Paths.get("")), innerDeclaration, constructor);
+
+        MethodCoverage methodCoverage = service.getMethodCoverage(query);
+
+        assertThat(methodCoverage.getName()).isEqualTo("<init>(Foo, Foo.Dinosaur)");
+    }
+
+    @Test
+    public void symbolTableIsBuiltOncePerUnit() throws Exception {
+        Unit unit = new Unit(newFooCu(), "org.example.Foo", Paths.get(""));
+
+        assertThat(UnitSymbolTable.of(unit)).isSameAs(UnitSymbolTable.of(unit));
+        assertThat(UnitSymbolTable.of(unit).nestedName(fooDeclaration, "Dinosaur")).isEqualTo("Dinosaur");
+    }
+
+    @Test
+    public void symbolTableLooksUpTopLevelTypesAndImports() throws Exception {
+        fooDeclaration.setMembers(nodeList(innerDeclaration));
+        CompilationUnit cu = newFooCu();
+        cu.addImport("org.example.Bar.Dinosaur");
+        UnitSymbolTable symbols = UnitSymbolTable.of(new Unit(cu, "org.example.Foo", Paths.get("")));
+
+        assertThat(symbols.topLevelTypeOf(innerDeclaration)).isEqualTo("Foo");
+        assertThat(symbols.topLevelTypeOf(fooDeclaration)).isEmpty();
+        assertThat(symbols.importedType("Dinosaur")).isEqualTo("org.example.Bar.Dinosaur");
+        assertThat(symbols.importedType("Inner")).isEmpty();
+    }
+
+
     private MethodDeclaration simpleMethodDeclaration() {
         MethodDeclaration md = new MethodDeclaration();
         md.setName("bar");
@@ -0,0 +1,78 @@
+package com.aurea.testgenerator.coverage
+
+import com.aurea.coverage.unit.MethodCoverage
+import org.jacoco.core.data.ExecutionDataStore
+import org.jacoco.core.data.ExecutionDataWriter
+import org.jacoco.core.data.SessionInfoStore
+import org.jacoco.core.instr.Instrumenter
+import org.jacoco.core.runtime.LoggerRuntime
+import org.jacoco.core.runtime.RuntimeData
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class JacocoExecCoverageRepositorySpec extends Specification {
+
+    @Rule
+    final TemporaryFolder folder = new TemporaryFolder()
+
+    Path classDir = Paths.get(ExecCoverageSample.protectionDomain.codeSource.location.toURI())
+
+    def "computes method coverage from execution data"() {
+        setup:
+        JacocoExecCoverageRepository repository = JacocoExecCoverageRepository.fromFile(execOfCoveredCall(), [classDir])
+
+        when:
+        MethodCoverage covered = method(repository, 'covered(int)')
+        MethodCoverage uncovered = method(repository, 'uncovered(String[])')
+
+        then:
+        covered.covered > 0
+        covered.uncovered == 0
+        uncovered.covered == 0
+        uncovered.uncovered > 0
+        repository.getClassCoverage(ClassCoverageCriteria.of('com.aurea.testgenerator.coverage', 'ExecCoverageSample')).get()
+                  .methodCoverages().count() == 3
+    }
+
+    def "classes without class files have no coverage"() {
+        setup:
+        JacocoExecCoverageRepository repository = new JacocoExecCoverageRepository(new ExecutionDataStore(), [classDir])
+
+        expect:
+        !repository.getClassCoverage(ClassCoverageCriteria.of('com.aurea.testgenerator.coverage', 'Missing')).present
+    }
+
+    private static MethodCoverage method(CoverageRepository repository, String name) {
+        repository.getMethodCoverage(MethodCoverageCriteria.of('com.aurea.testgenerator.coverage', 'ExecCoverageSample', name)).get()
+    }
+
+    private Path execOfCoveredCall() {
+        LoggerRuntime runtime = new LoggerRuntime()
+        byte[] original = ExecCoverageSample.getResourceAsStream('ExecCoverageSample.class').bytes
+        byte[] instrumented = new Instrumenter(runtime).instrument(original, ExecCoverageSample.name)
+        RuntimeData data = new RuntimeData()
+        runtime.startup(data)
+        try {
+            Class<?> type = new ClassLoader(getClass().classLoader) {
+                Class<?> define() {
+                    defineClass(ExecCoverageSample.name, instrumented, 0, instrumented.length)
+                }
+            }.define()
+            type.newInstance().covered(1)
+        } finally {
+            runtime.shutdown()
+        }
+        Path exec = folder.root.toPath().resolve('jacoco.exec')
+        exec.withOutputStream { out ->
+            ExecutionDataWriter writer = new ExecutionDataWriter(out)
+            ExecutionDataStore store = new ExecutionDataStore()
+            data.collect(store, new SessionInfoStore(), false)
+            store.accept(writer)
+        }
+        exec
+    }
+}
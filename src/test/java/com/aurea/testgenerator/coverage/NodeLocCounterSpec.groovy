@@ -0,0 +1,64 @@
+package com.aurea.testgenerator.coverage
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.Node
+import com.github.javaparser.ast.body.CallableDeclaration
+import com.github.javaparser.ast.body.TypeDeclaration
+import spock.lang.Specification
+
+class NodeLocCounterSpec extends Specification {
+
+    CompilationUnit cu = JavaParser.parse """
+        class Foo {
+            static final int CONSTANT = 1;
+            int initialized = 2;
+            int plain;
+
+            Foo(int plain) {
+                this.plain = plain;
+            }
+
+            int sum(int[] values) {
+                int total;
+                total = 0;
+                for (int value : values) {
+                    if (value > 0) {
+                        total += value;
+                    }
+                }
+                return total;
+            }
+
+            void guarded() {
+                try {
+                    plain++;
+                } catch (RuntimeException e) {
+                    plain--;
+                }
+            }
+
+            class Inner {
+                String name() { return "inner"; }
+            }
+        }
+    """
+
+    def "counts every type and callable of a unit like a separate count"() {
+        when:
+        List<Node> nodes = cu.findAll(CallableDeclaration) + cu.findAll(TypeDeclaration) + [cu]
+
+        then:
+        nodes.every { NodeLocCounter.cached(it) == NodeLocCounter.count(it) }
+        NodeLocCounter.count(cu.getType(0).getMethodsByName('sum')[0]) == 6
+    }
+
+    def "falls back to counting nodes that are not cached"() {
+        setup:
+        Node body = cu.getType(0).getMethodsByName('guarded')[0].body.get()
+
+        expect:
+        NodeLocCounter.cached(body) == NodeLocCounter.count(body)
+        NodeLocCounter.cached(JavaParser.parseBlock('{ int a = 1; a++; }')) == 2
+    }
+}
@@ -0,0 +1,125 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.generation.names.NomenclatureFactory
+import com.aurea.testgenerator.generation.names.StandardTestClassNomenclatureFactory
+import com.aurea.testgenerator.generation.patterns.nullchecking.NullCheckingConstructorTestBuilder
+import com.aurea.testgenerator.generation.patterns.nullchecking.NullCheckingMethodTestBuilder
+import com.aurea.testgenerator.generation.patterns.nullchecking.NullCheckingTestGenerator
+import com.aurea.testgenerator.generation.patterns.pojos.OpenPojoTestGenerator
+import com.aurea.testgenerator.generation.patterns.singleton.EagerSingletonTestGenerator
+import com.aurea.testgenerator.generation.patterns.singleton.SingletonCommonTestGenerator
+import com.aurea.testgenerator.reporting.CoverageReporter
+import com.aurea.testgenerator.reporting.TestGeneratorResultReporter
+import com.aurea.testgenerator.source.Unit
+import com.aurea.testgenerator.value.ArbitraryPrimitiveValuesFactory
+import com.aurea.testgenerator.value.ArbitraryReferenceTypeFactory
+import com.aurea.testgenerator.value.ValueFactory
+import com.aurea.testgenerator.value.random.ValueFactoryImpl
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.Node
+import com.github.javaparser.symbolsolver.JavaSymbolSolver
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
+import org.springframework.context.ApplicationEventPublisher
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Paths
+
+class ComplexityFilterSpec extends Specification {
+
+    static final TypeSolver TYPE_SOLVER = new ReflectionTypeSolver()
+    static final JavaSymbolSolver SYMBOL_SOLVER = new JavaSymbolSolver(TYPE_SOLVER)
+
+    TestGeneratorResultReporter reporter = new TestGeneratorResultReporter(Stub(ApplicationEventPublisher))
+    CoverageReporter coverageReporter = new CoverageReporter(Stub(ApplicationEventPublisher))
+    NomenclatureFactory nomenclatures = new NomenclatureFactory(new StandardTestClassNomenclatureFactory(), new ProjectConfiguration())
+    ValueFactory valueFactory = new ValueFactoryImpl(new ArbitraryReferenceTypeFactory(SYMBOL_SOLVER),
+            new ArbitraryPrimitiveValuesFactory())
+
+    Unit unit = new Unit(JavaParser.parse('''
+        class Foo {
+            int getA() { return a; }
+            int max(int a, int b) { if (a > b) { return a; } return b; }
+        }
+    '''), 'org.example.Foo', Paths.get(''))
+
+    def "skips methods below the minimum complexity"() {
+        when:
+        new ComplexityFilter(1, 0).select(unit)
+
+        then:
+        Skips.isSkipped(method('getA'))
+        !Skips.isSkipped(method('max'))
+    }
+
+    def "a unit is slow if a method is above the slow path complexity"() {
+        expect:
+        !new ComplexityFilter(0, 0).isSlow(unit)
+        !new ComplexityFilter(0, 2).isSlow(unit)
+        new ComplexityFilter(0, 1).isSlow(unit)
+    }
+
+    def "nesting makes a unit slow"() {
+        setup:
+        Unit complex = new Unit(JavaParser.parse('''
+            class Bar {
+                int f(int a) { if (a > 0) { if (a > 1) { return 1; } } return 0; }
+            }
+        '''), 'org.example.Bar', Paths.get(''))
+
+        expect:
+        new ComplexityFilter(0, 2).isSlow(complex)
+    }
+
+    @Unroll
+    def "trivial methods get no #family tests"() {
+        setup:
+        TestGenerator generator = [pojo           : openPojoGenerator(),
+                                   'null checking': nullCheckingGenerator(),
+                                   singleton      : singletonGenerator()][family]
+        Unit filtered = solvedUnit(code)
+        new ComplexityFilter(1, 0).select(filtered)
+
+        expect:
+        generator.generate(solvedUnit(code)).any { it.tests }
+        generator.generate(filtered).every { !it.tests }
+
+        where:
+        family          | code
+        'pojo'          | 'class Foo { private int a; public int getA() { return a; } public void setA(int a) { this.a = a; } }'
+        'null checking' | 'import java.util.Objects; class Foo { private Long id; public void setId(Long id) { this.id = Objects.requireNonNull(id); } }'
+        'singleton'     | 'class Foo { private static final Foo instance = new Foo(); private Foo() {} public static Foo getInstance() { return instance; } }'
+    }
+
+    private TestGenerator openPojoGenerator() {
+        new OpenPojoTestGenerator(reporter: reporter, coverageReporter: coverageReporter, nomenclatures: nomenclatures)
+    }
+
+    private TestGenerator nullCheckingGenerator() {
+        NullCheckingTestGenerator generator = new NullCheckingTestGenerator()
+        generator.reporter = reporter
+        generator.coverageReporter = coverageReporter
+        generator.methodBuilder = new NullCheckingMethodTestBuilder(valueFactory: valueFactory)
+        generator.constructorBuilder = new NullCheckingConstructorTestBuilder(valueFactory: valueFactory)
+        generator
+    }
+
+    private TestGenerator singletonGenerator() {
+        new EagerSingletonTestGenerator(JavaParserFacade.get(TYPE_SOLVER), reporter, coverageReporter, nomenclatures,
+                new SingletonCommonTestGenerator(valueFactory, nomenclatures))
+    }
+
+    private static Unit solvedUnit(String code) {
+        CompilationUnit cu = JavaParser.parse("package sample; $code")
+        cu.setData(Node.SYMBOL_RESOLVER_KEY, SYMBOL_SOLVER)
+        new Unit(cu, 'sample.Foo', Paths.get(''))
+    }
+
+    private def method(String name) {
+        unit.cu.getType(0).getMethodsByName(name)[0]
+    }
+}
@@ -0,0 +1,104 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.testgenerator.reporting.TestGeneratorResultReporter
+import com.aurea.testgenerator.source.Unit
+import com.aurea.testgenerator.value.Resolution
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.resolution.Resolvable
+import spock.lang.Specification
+
+import java.nio.file.Paths
+import java.util.concurrent.TimeUnit
+
+class GenerationBudgetSpec extends Specification {
+
+    TestGeneratorResultReporter reporter = Mock()
+    Unit unit = new Unit(new CompilationUnit(), 'org.example.Foo', Paths.get(''))
+
+    def "gives up on a unit at the first checkpoint past its deadline"() {
+        setup:
+        GenerationBudget budget = new GenerationBudget(50, 0, TimeUnit.MILLISECONDS, reporter)
+        int checkpoints = 0
+
+        when:
+        String result = budget.generate(unit, {
+            while (true) {
+                GenerationBudget.checkpoint()
+                checkpoints++
+                Thread.sleep(5)
+            }
+        }, 'timeout')
+
+        then:
+        result == 'timeout'
+        checkpoints > 0
+        budget.timedOut == 1
+        1 * reporter.publishTimeout(unit)
+    }
+
+    def "a checkpoint during resolution aborts the unit"() {
+        setup:
+        GenerationBudget budget = new GenerationBudget(1, 0, TimeUnit.NANOSECONDS, reporter)
+        Resolvable<String> resolvable = { GenerationBudget.checkpoint(); 'resolved' } as Resolvable<String>
+        boolean continued = false
+
+        when:
+        String result = budget.generate(unit, {
+            Thread.sleep(1)
+            Resolution.tryResolve(resolvable)
+            continued = true
+            'partial'
+        }, 'timeout')
+
+        then:
+        result == 'timeout'
+        !continued
+        budget.timedOut == 1
+        1 * reporter.publishTimeout(unit)
+    }
+
+    def "failed resolution outside of a timeout is unresolved"() {
+        expect:
+        !Resolution.tryResolve({ throw new IllegalStateException() } as Resolvable<String>).present
+    }
+
+    def "checkpoints outside of a budgeted generation pass"() {
+        setup:
+        GenerationBudget budget = new GenerationBudget(1, 0, TimeUnit.NANOSECONDS, reporter)
+
+        when:
+        budget.generate(unit, { 'done' }, 'timeout')
+        Thread.sleep(1)
+        GenerationBudget.checkpoint()
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "stops scheduling units once the run is out of time"() {
+        setup:
+        GenerationBudget budget = new GenerationBudget(0, 20, TimeUnit.MILLISECONDS, reporter)
+        budget.startRun()
+
+        expect:
+        !budget.skipUnit()
+
+        when:
+        Thread.sleep(30)
+
+        then:
+        budget.skipUnit()
+        budget.notScheduled == 1
+        budget.generate(unit, { GenerationBudget.checkpoint(); 'done' }, 'timeout') == 'timeout'
+    }
+
+    def "unlimited budget never gives up"() {
+        setup:
+        GenerationBudget budget = GenerationBudget.unlimited()
+        budget.startRun()
+
+        expect:
+        !budget.skipUnit()
+        budget.generate(unit, { GenerationBudget.checkpoint(); 'done' }, 'timeout') == 'done'
+    }
+}
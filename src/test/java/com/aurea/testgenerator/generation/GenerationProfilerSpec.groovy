@@ -0,0 +1,75 @@
+package com.aurea.testgenerator.generation
+
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.ast.CompilationUnit
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class GenerationProfilerSpec extends Specification {
+
+    TestGenerator generator = Stub()
+
+    def "keeps the slowest units and generator runs"() {
+        setup:
+        GenerationProfiler profiler = new GenerationProfiler(2, null)
+
+        when:
+        [a: 5, b: 1, c: 9, d: 3].each { name, wall ->
+            profiler.record(new GenerationProfiler.Sample('Gen', name, wall, 0, 0))
+        }
+        profiler.record(new GenerationProfiler.Sample('Other', 'b', 7, 0, 0))
+
+        then:
+        profiler.slowestPairs*.unit == ['c', 'b']
+        profiler.slowestUnits*.key == ['c', 'b']
+        profiler.report().contains('Other')
+    }
+
+    def "measures generation and writes every run to csv"() {
+        setup:
+        Path csv = Files.createTempDirectory('profile').resolve('profile.csv')
+        GenerationProfiler profiler = new GenerationProfiler(0, csv)
+        Unit unit = new Unit(new CompilationUnit(), 'org.example.Foo', Paths.get(''))
+
+        when:
+        String result = profiler.profile(generator, unit) { new byte[1024 * 1024]; 'tests' }
+        profiler.logStats()
+        List<String> lines = csv.readLines()
+
+        then:
+        result == 'tests'
+        lines.size() == 2
+        lines[1].startsWith(generator.class.simpleName + ',org.example.Foo,')
+        lines[1].split(',')[2].toLong() > 0
+    }
+
+    def "streams runs to csv while generating"() {
+        setup:
+        Path csv = Files.createTempDirectory('profile').resolve('profile.csv')
+        GenerationProfiler profiler = new GenerationProfiler(0, csv)
+
+        when:
+        (1..1000).each { profiler.record(new GenerationProfiler.Sample('Gen', "org.example.Foo$it", it, 0, 0)) }
+
+        then:
+        csv.size() > 0
+
+        when:
+        profiler.logStats()
+
+        then:
+        csv.readLines().size() == 1001
+    }
+
+    def "disabled profiler only runs the generation"() {
+        setup:
+        GenerationProfiler profiler = GenerationProfiler.disabled()
+
+        expect:
+        profiler.profile(generator, null) { 'tests' } == 'tests'
+        profiler.slowestUnits.empty
+    }
+}
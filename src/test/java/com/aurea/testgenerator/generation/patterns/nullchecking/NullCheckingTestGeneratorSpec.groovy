@@ -40,6 +40,25 @@ public class NullCheckingTestGeneratorSpec extends MatcherPipelineTest {
         """
     }
 
+    def "covered methods get no null checking tests"() {
+        setup:
+        skipCovered('setId')
+
+        expect:
+        onClassCodeDoNotExpectTest """
+            import java.util.Objects;
+            
+            public class PanelLittle {
+            
+                private Long id;
+            
+                public void setId(Long id) {
+                    this.id = Objects.requireNonNull(id);
+                }
+            }
+        """
+    }
+
     def "test_OneMethodTwoParameters"() {
         expect:
         onClassCodeExpectByPattern """
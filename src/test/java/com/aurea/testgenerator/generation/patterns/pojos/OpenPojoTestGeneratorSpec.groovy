@@ -0,0 +1,49 @@
+package com.aurea.testgenerator.generation.patterns.pojos
+
+import com.aurea.testgenerator.MatcherPipelineTest
+import com.aurea.testgenerator.generation.TestGenerator
+
+class OpenPojoTestGeneratorSpec extends MatcherPipelineTest {
+
+    static final String POJO = """
+        public class Foo {
+            private int a;
+
+            public int getA() {
+                return a;
+            }
+
+            public void setA(int a) {
+                this.a = a;
+            }
+        }
+    """
+
+    def "tests getters and setters of a pojo"() {
+        expect:
+        String test = onClassCodeExpectByPattern POJO, "Testers\\.getterTester\\(\\)"
+        test.contains('Testers.setterTester()')
+    }
+
+    def "covered methods get no pojo tests"() {
+        setup:
+        skipCovered('getA', 'setA')
+
+        expect:
+        onClassCodeDoNotExpectTest POJO
+    }
+
+    def "only methods that are not covered get pojo tests"() {
+        setup:
+        skipCovered('getA')
+
+        expect:
+        String test = onClassCodeExpectByPattern POJO, "Testers\\.setterTester\\(\\)"
+        !test.contains('Testers.getterTester()')
+    }
+
+    @Override
+    TestGenerator generator() {
+        new OpenPojoTestGenerator(reporter: reporter, coverageReporter: visitReporter, nomenclatures: nomenclatureFactory)
+    }
+}
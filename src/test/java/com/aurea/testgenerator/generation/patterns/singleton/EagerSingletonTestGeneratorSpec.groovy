@@ -39,6 +39,25 @@ class EagerSingletonTestGeneratorSpec extends MatcherPipelineTest {
         """
     }
 
+    def "covered singletons get no tests"() {
+        setup:
+        skipCovered('getInstance')
+
+        expect:
+        onClassCodeDoNotExpectTest """
+            class Foo {
+                private static final Foo instance = new Foo();
+            
+                private Foo() {
+                }
+            
+                public static Foo getInstance() {
+                    return instance;
+                }            
+            }
+        """
+    }
+
     def "eager singleton type reference same instance test"() {
         expect:
         onClassCodeExpect """
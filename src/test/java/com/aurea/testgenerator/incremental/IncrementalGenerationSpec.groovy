@@ -0,0 +1,132 @@
+package com.aurea.testgenerator.incremental
+
+import com.aurea.common.JavaClass
+import com.aurea.testgenerator.config.BaseConfig
+import com.aurea.testgenerator.config.ProjectConfiguration
+import com.aurea.testgenerator.source.SourceIndex
+import com.aurea.testgenerator.source.Unit
+import com.aurea.testgenerator.source.UnitTestWriter
+import com.aurea.testgenerator.symbolsolver.RoutingTypeSolver
+import com.github.javaparser.JavaParser
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.springframework.core.env.StandardEnvironment
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class IncrementalGenerationSpec extends Specification {
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    ProjectConfiguration cfg
+    Path source
+    Path dependency
+    Unit testUnit
+
+    def setup() {
+        cfg = new ProjectConfiguration(
+                src: folder.newFolder('src').absolutePath,
+                out: folder.newFolder('test').absolutePath,
+                incremental: true)
+        source = cfg.srcPath.resolve('sample/Foo.java')
+        source.parent.toFile().mkdirs()
+        source.toFile().write 'package sample; class Foo extends Bar {}'
+        dependency = cfg.srcPath.resolve('sample/Bar.java')
+        dependency.toFile().write 'package sample; class Bar {}'
+        testUnit = new Unit(JavaParser.parse('package sample; class FooTest {}'), new JavaClass('sample.FooTest'), null)
+    }
+
+    def "unit is regenerated when there is no manifest"() {
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "unit is skipped when source and written test did not change"() {
+        setup:
+        runOnce()
+
+        when:
+        IncrementalGeneration incremental = newIncrementalGeneration()
+
+        then:
+        incremental.isUnchanged(source)
+        incremental.skipped == 1
+    }
+
+    def "unit is regenerated when source changed"() {
+        setup:
+        runOnce()
+        source.toFile().write 'package sample; class Foo { int bar; }'
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "unit is regenerated when written test was modified"() {
+        setup:
+        runOnce()
+        cfg.outPath.resolve('sample/FooTest.java').toFile().write 'package sample; class FooTest { int edited; }'
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "unit is regenerated when a resolved dependency changed"() {
+        setup:
+        runOnce()
+        dependency.toFile().write 'package sample; class Bar { int baz; }'
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "unit is regenerated when a type it failed to resolve was added"() {
+        setup:
+        runOnce()
+        cfg.srcPath.resolve('sample/Baz.java').toFile().write 'package sample; class Baz {}'
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "unit is regenerated when a setting of the generated tests changed"() {
+        setup:
+        runOnce()
+        cfg.methodPrefix = 'should'
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    def "nothing is skipped when incremental mode is disabled"() {
+        setup:
+        runOnce()
+        cfg.incremental = false
+
+        expect:
+        !newIncrementalGeneration().isUnchanged(source)
+    }
+
+    private void runOnce() {
+        IncrementalGeneration incremental = newIncrementalGeneration()
+        Unit unit = new Unit(JavaParser.parse(source.toFile()), new JavaClass('sample.Foo'), null)
+        unit.sourcePath = source
+        Path test = null
+        incremental.generate(unit, {
+            DependencyTracker.touched(dependency)
+            incremental.solver.tryToSolveType('sample.Baz')
+            test = new UnitTestWriter(cfg, []).write(testUnit).test
+            Optional.empty()
+        })
+        incremental.record(unit, Optional.of(test))
+        incremental.save()
+    }
+
+    private IncrementalGeneration newIncrementalGeneration() {
+        RoutingTypeSolver solver = new RoutingTypeSolver()
+        BaseConfig.addSourceRootSolver(solver, SourceIndex.scan(cfg.srcPath), true)
+        new IncrementalGeneration(cfg, [], new StandardEnvironment(), solver)
+    }
+}
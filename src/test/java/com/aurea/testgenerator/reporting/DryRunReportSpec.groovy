@@ -0,0 +1,65 @@
+package com.aurea.testgenerator.reporting
+
+import com.aurea.testgenerator.ast.UnsolvedDeclarationEvent
+import com.aurea.testgenerator.coverage.CoverageStatistics
+import com.aurea.testgenerator.generation.GenerationProfiler
+import com.aurea.testgenerator.generation.TestGenerator
+import com.aurea.testgenerator.generation.TestGeneratorResult
+import com.aurea.testgenerator.generation.ast.DependableNode
+import com.aurea.testgenerator.source.Unit
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import spock.lang.Specification
+
+import java.nio.file.Paths
+
+import static com.aurea.testgenerator.ast.UnsolvedDeclarationEvent.UnsolvedDeclarationType.DECLARATION
+
+class DryRunReportSpec extends Specification {
+
+    TestGenerator generator = Stub()
+    DryRunReport report = new DryRunReport(true, 10, new CoverageStatistics(), GenerationProfiler.disabled())
+
+    def "collects applicable generators per unit"() {
+        setup:
+        Unit foo = unit('Foo')
+        Unit bar = unit('Bar')
+
+        when:
+        report.record(generator, foo, [new TestGeneratorResult(tests: [new DependableNode<>(), new DependableNode<>()])])
+        report.record(generator, bar, [new TestGeneratorResult()])
+
+        then:
+        report.units == 2
+        report.applicableUnits == 1
+        report.generatorsByUnit['org.example.Foo'] == [generator.class.simpleName] as Set
+        report.generatorsByUnit['org.example.Bar'].empty
+        report.report().contains('2 units analysed')
+    }
+
+    def "counts unsolved symbols"() {
+        setup:
+        CompilationUnit cu = JavaParser.parse('package org.example; class Foo { Bar bar; }')
+
+        when:
+        report.onApplicationEvent(new UnsolvedDeclarationEvent(this, cu.types[0].fields[0], DECLARATION))
+
+        then:
+        report.report().contains('Unsolved symbols: 1')
+    }
+
+    def "does nothing unless enabled"() {
+        setup:
+        DryRunReport disabled = DryRunReport.disabled()
+
+        when:
+        disabled.record(generator, unit('Foo'), [new TestGeneratorResult()])
+
+        then:
+        disabled.units == 0
+    }
+
+    private static Unit unit(String name) {
+        new Unit(new CompilationUnit(), "org.example.$name", Paths.get(''))
+    }
+}
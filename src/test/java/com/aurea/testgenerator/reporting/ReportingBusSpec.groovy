@@ -0,0 +1,131 @@
+package com.aurea.testgenerator.reporting
+
+import org.springframework.context.ApplicationEventPublisher
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ReportingBusSpec extends Specification {
+
+    Queue<Object> delivered = new ConcurrentLinkedQueue<>()
+    Queue<Thread> deliveringThreads = new ConcurrentLinkedQueue<>()
+    ApplicationEventPublisher listeners = Stub {
+        publishEvent(_) >> { args ->
+            delivered << args[0]
+            deliveringThreads << Thread.currentThread()
+        }
+    }
+
+    def "delivers events of all producers by the time it is flushed"() {
+        setup:
+        ReportingBus bus = new ReportingBus(listeners, 64, 16)
+        ExecutorService producers = Executors.newFixedThreadPool(4)
+
+        when:
+        (0..<4).each { producer ->
+            producers.submit { (0..<5000).each { bus.publishEvent("$producer-$it".toString()) } }
+        }
+        producers.shutdown()
+        producers.awaitTermination(1, TimeUnit.MINUTES)
+        bus.flush()
+
+        then:
+        delivered.size() == 20_000
+        delivered.toSet().size() == 20_000
+    }
+
+    def "keeps the order of a producer when the buffer is full"() {
+        setup:
+        ReportingBus bus = new ReportingBus(listeners, 4, 1)
+
+        when:
+        (0..<20_000).each { bus.publishEvent(it) }
+        bus.flush()
+
+        then:
+        delivered.toList() == (0..<20_000).toList()
+    }
+
+    def "loses no event published while it is flushed"() {
+        setup:
+        ReportingBus bus = new ReportingBus(listeners, 64, 16)
+        ExecutorService producers = Executors.newFixedThreadPool(4)
+        CountDownLatch started = new CountDownLatch(4)
+
+        when:
+        (0..<4).each { producer ->
+            producers.submit {
+                started.countDown()
+                (0..<20_000).each { bus.publishEvent([producer, it]) }
+            }
+        }
+        started.await()
+        bus.flush()
+        producers.shutdown()
+        producers.awaitTermination(1, TimeUnit.MINUTES)
+
+        then:
+        delivered.size() == 80_000
+        (0..<4).every { producer -> delivered.findAll { it[0] == producer }.collect { it[1] } == (0..<20_000).toList() }
+    }
+
+    def "delivers on the calling thread after the flush"() {
+        setup:
+        ReportingBus bus = new ReportingBus(listeners, 64, 16)
+        bus.publishEvent('queued')
+        bus.flush()
+        deliveringThreads.clear()
+
+        when:
+        bus.publishEvent('late')
+
+        then:
+        delivered.toList() == ['queued', 'late']
+        deliveringThreads.toList() == [Thread.currentThread()]
+    }
+
+    def "synchronous bus delivers right away"() {
+        when:
+        ReportingBus.synchronous(listeners).publishEvent('event')
+
+        then:
+        delivered.toList() == ['event']
+        deliveringThreads.toList() == [Thread.currentThread()]
+    }
+
+    def "ring buffer keeps the order and rejects events when full"() {
+        setup:
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4)
+        List<Integer> batch = []
+
+        expect:
+        (1..4).every { buffer.offer(it) }
+        !buffer.offer(5)
+        buffer.drainTo(batch, 3) == 3
+        buffer.offer(5)
+        buffer.drainTo(batch, 10) == 2
+        batch == [1, 2, 3, 4, 5]
+        buffer.isEmpty()
+    }
+
+    def "closed ring buffer rejects events and drains the queued ones"() {
+        setup:
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4)
+        List<Integer> batch = []
+        buffer.offer(1)
+        buffer.offer(2)
+
+        when:
+        buffer.close()
+
+        then:
+        !buffer.offer(3)
+        buffer.drainAll(batch) == 2
+        batch == [1, 2]
+        buffer.isEmpty()
+    }
+}
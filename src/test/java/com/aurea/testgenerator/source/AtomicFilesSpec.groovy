@@ -0,0 +1,61 @@
+package com.aurea.testgenerator.source
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+
+class AtomicFilesSpec extends Specification {
+
+    private static final String LARGE = (0..<20_000).collect { "line $it" }.join('\n')
+
+    @Rule
+    TemporaryFolder folder = new TemporaryFolder()
+
+    Path file
+
+    def setup() {
+        file = folder.root.toPath().resolve('Test.java')
+    }
+
+    def "writes content spanning several chunks"() {
+        when:
+        AtomicFiles.write(file, LARGE)
+
+        then:
+        file.text == LARGE
+        Files.list(folder.root.toPath()).count() == 1
+    }
+
+    def "compares content with the file"() {
+        setup:
+        AtomicFiles.write(file, LARGE)
+
+        expect:
+        AtomicFiles.hasContent(file, content) == same
+
+        where:
+        content                  | same
+        LARGE                    | true
+        LARGE + 'x'              | false
+        LARGE.substring(1)       | false
+        'x' + LARGE.substring(1) | false
+        ''                       | false
+    }
+
+    def "missing files have no content"() {
+        expect:
+        !AtomicFiles.hasContent(file, '')
+    }
+
+    def "writes only changed content"() {
+        expect:
+        AtomicFiles.writeIfChanged(file, 'a')
+        !AtomicFiles.writeIfChanged(file, 'a')
+        AtomicFiles.writeIfChanged(file, 'b')
+        file.text == 'b'
+    }
+}
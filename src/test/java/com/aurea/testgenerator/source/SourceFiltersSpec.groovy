@@ -46,4 +46,31 @@ class SourceFiltersSpec extends Specification {
         predicate.test(folder.root.toPath().resolve('project-potato/main/src/example/Foo.java'))
         !predicate.test(folder.root.toPath().resolve('project-potato/main/src/example/NotFoo.java'))
     }
+
+    def "can find a test in a prebuilt index of the test root"() {
+        setup:
+        FileTreeBuilder fileTree = new FileTreeBuilder(folder.root)
+        fileTree.dir('main') {
+            dir('example') {
+                file('Foo.java')
+                file('NotFoo.java')
+            }
+        }
+        fileTree.dir('test') {
+            dir('example') {
+                file('FooTest.java')
+            }
+        }
+        Path srcRoot = folder.root.toPath().resolve('main')
+        SourceIndex testIndex = SourceIndex.scan(folder.root.toPath().resolve('test'))
+
+        when:
+        def predicate = SourceFilters.hasTest(srcRoot, testIndex, { Path it ->
+            it.parent.resolve(it.fileName.toString().replace('.java', 'Test.java'))
+        } as UnaryOperator<Path>)
+
+        then:
+        predicate.test(srcRoot.resolve('example/Foo.java'))
+        !predicate.test(srcRoot.resolve('example/NotFoo.java'))
+    }
 }
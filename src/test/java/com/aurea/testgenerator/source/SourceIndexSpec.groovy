@@ -0,0 +1,54 @@
+package com.aurea.testgenerator.source
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class SourceIndexSpec extends Specification {
+
+    @Rule
+    final TemporaryFolder folder = new TemporaryFolder()
+
+    def "indexes java files in all directories with their size"() {
+        setup:
+        FileTreeBuilder fileTree = new FileTreeBuilder(folder.root)
+        fileTree.dir('org') {
+            file('Foo.java', 'class Foo {}')
+            file('readme.txt', 'not a source')
+            dir('example') {
+                file('Bar.java', 'class Bar {}')
+            }
+        }
+        Path root = folder.root.toPath()
+
+        when:
+        SourceIndex index = SourceIndex.scan(root)
+
+        then:
+        index.size() == 2
+        index.paths().sorted().toList() == [root.resolve('org/Foo.java'), root.resolve('org/example/Bar.java')]
+        index.get(root.resolve('org/Foo.java')).get().size == 'class Foo {}'.length()
+        !index.contains(root.resolve('org/readme.txt'))
+    }
+
+    def "packages include the default package"() {
+        setup:
+        new FileTreeBuilder(folder.root).dir('org') {
+            file('Root.java', 'class Root {}')
+            dir('example') {
+                file('Foo.java', 'package org.example; class Foo {}')
+            }
+        }
+        folder.newFile('Default.java')
+
+        expect:
+        SourceIndex.scan(folder.root.toPath()).packages() == ['', 'org', 'org.example'] as Set
+    }
+
+    def "missing root gives an empty index"() {
+        expect:
+        SourceIndex.scan(folder.root.toPath().resolve('missing')).size() == 0
+    }
+}
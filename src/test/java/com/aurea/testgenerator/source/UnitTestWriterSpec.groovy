@@ -10,6 +10,7 @@ import spock.lang.Specification
 
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.attribute.FileTime
 
 import static org.assertj.core.api.Assertions.*
 
@@ -135,6 +136,96 @@ class UnitTestWriterSpec extends Specification {
         testFolder.resolve('sample/FooTest2.java').toFile().exists()
     }
 
+    def "does not create another copy when a renamed file has the same content"() {
+        setup:
+        projectCfg.fileNameResolution = FileNameConflictResolutionStrategyType.RENAME
+        writer = newWriter()
+        Unit unit = fooTestUnit()
+        testBuilder.dir('sample') {
+            file('FooTest.java') {
+                text = '123'
+            }
+        }
+        writer.write(unit)
+
+        when:
+        WriteResult result = writer.write(unit)
+
+        then:
+        result.outcome == WriteOutcome.UNCHANGED
+        result.test == testFolder.resolve('sample/FooTest2.java')
+        Files.list(testFolder.resolve('sample')).collect { it.fileName.toString() }.sort() == ['FooTest.java', 'FooTest2.java']
+    }
+
+    def "leaves existing files with the same content untouched"() {
+        setup:
+        Unit unit = fooTestUnit()
+        writer.write(unit)
+        Path test = testFolder.resolve('sample/FooTest.java')
+        Files.setLastModifiedTime(test, FileTime.fromMillis(0))
+
+        when:
+        WriteOutcome outcome = writer.write(unit).outcome
+
+        then:
+        outcome == WriteOutcome.UNCHANGED
+        Files.getLastModifiedTime(test).toMillis() == 0
+        writer.count(WriteOutcome.WRITTEN) == 1
+        writer.count(WriteOutcome.UNCHANGED) == 1
+    }
+
+    def "counts skipped files when strategy is skip"() {
+        setup:
+        projectCfg.fileNameResolution = FileNameConflictResolutionStrategyType.SKIP
+        writer = newWriter()
+        testBuilder.dir('sample') {
+            file('FooTest.java') {
+                text = '123'
+            }
+        }
+
+        when:
+        writer.write(fooTestUnit())
+
+        then:
+        writer.count(WriteOutcome.SKIPPED) == 1
+        writer.count(WriteOutcome.WRITTEN) == 0
+    }
+
+    def "overriding leaves no temporary files behind"() {
+        setup:
+        Unit unit = fooTestUnit()
+        testBuilder.dir('sample') {
+            file('FooTest.java') {
+                text = '123'
+            }
+        }
+
+        when:
+        writer.write(unit)
+
+        then:
+        Files.list(testFolder.resolve('sample')).collect { it.fileName.toString() } == ['FooTest.java']
+    }
+
+    def "writing behind is on disk after flush"() {
+        setup:
+        Unit unit = fooTestUnit()
+        boolean written = false
+
+        when:
+        writer.writeBehind(unit) { written = true }
+        writer.flush()
+
+        then:
+        written
+        String content = testFolder.resolve('sample/FooTest.java').toFile().text
+        assertThat(content).isEqualToIgnoringWhitespace(FOO_TEST_TEXT)
+
+        cleanup:
+        writer.close()
+    }
+
     private UnitTestWriter newWriter() {
         new UnitTestWriter(projectCfg, [new OverrideClassWriteStrategy(),
                                         new RenameClassWriteStrategy(),
@@ -0,0 +1,105 @@
+package com.aurea.testgenerator.source.cache
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ast.CompilationUnit
+import com.github.javaparser.ast.Node
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class AstCacheSpec extends Specification {
+
+    @Rule
+    final TemporaryFolder folder = new TemporaryFolder()
+
+    Charset charset = Charset.defaultCharset()
+
+    boolean storeTokens
+    boolean attributeComments
+
+    def setup() {
+        storeTokens = JavaParser.getStaticConfiguration().storeTokens
+        attributeComments = JavaParser.getStaticConfiguration().attributeComments
+        JavaParser.getStaticConfiguration().setStoreTokens(false).setAttributeComments(false)
+    }
+
+    def cleanup() {
+        JavaParser.getStaticConfiguration().setStoreTokens(storeTokens).setAttributeComments(attributeComments)
+    }
+
+    def "cached units are equal to parsed ones including ranges"() {
+        setup:
+        AstCache cache = new AstCache(folder.newFolder().toPath(), Long.MAX_VALUE)
+        List<Path> sources = Files.walk(Paths.get('src/main/java')).filter { it.toString().endsWith('.java') }.collect()
+
+        when:
+        sources.each { cache.parse(it, charset) }
+        List<CompilationUnit> cached = sources.collect { cache.parse(it, charset) }
+
+        then:
+        cache.misses == sources.size()
+        cache.hits == sources.size()
+        [sources, cached].transpose().every { Path path, CompilationUnit cu ->
+            CompilationUnit parsed = JavaParser.parse(path.toFile(), charset)
+            cu == parsed && cu.storage.get().path == parsed.storage.get().path && ranges(cu) == ranges(parsed)
+        }
+    }
+
+    def "evicts least recently used entries over the size limit"() {
+        setup:
+        Path dir = folder.newFolder().toPath()
+        List<Path> sources = (1..3).collect { source("class Foo$it { void method() { int value = $it; } }") }
+        long entrySize = sizeOfEntry(sources[0])
+        AstCache cache = new AstCache(dir, (entrySize * 5).intdiv(2))
+
+        when:
+        cache.parse(sources[0], charset)
+        cache.parse(sources[1], charset)
+        cache.parse(sources[0], charset)
+        cache.parse(sources[2], charset)
+        cache.parse(sources[0], charset)
+        cache.parse(sources[1], charset)
+
+        then:
+        cache.evictions == 2
+        cache.hits == 2
+        cache.misses == 4
+        cache.sizeInBytes < entrySize * 3
+    }
+
+    def "is bypassed when comments are attributed"() {
+        setup:
+        JavaParser.getStaticConfiguration().setStoreTokens(true).setAttributeComments(true)
+        Path dir = folder.newFolder().toPath()
+        AstCache cache = new AstCache(dir, Long.MAX_VALUE)
+
+        when:
+        cache.parse(source('/** doc */ class Foo {}'), charset)
+
+        then:
+        !cache.enabled
+        cache.misses == 0
+        Files.list(dir).count() == 0
+    }
+
+    private long sizeOfEntry(Path source) {
+        AstCache probe = new AstCache(folder.newFolder().toPath(), Long.MAX_VALUE)
+        probe.parse(source, charset)
+        probe.sizeInBytes
+    }
+
+    private Path source(String text) {
+        File file = folder.newFile()
+        file.text = text
+        file.toPath()
+    }
+
+    private static List<String> ranges(Node node) {
+        node.findAll(Node).collect { "${it.class.simpleName}${it.range.orElse(null)}" }
+    }
+}
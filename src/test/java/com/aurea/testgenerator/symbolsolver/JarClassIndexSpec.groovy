@@ -0,0 +1,83 @@
+package com.aurea.testgenerator.symbolsolver
+
+import com.aurea.testgenerator.source.SourceFile
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class JarClassIndexSpec extends Specification {
+
+    @Rule
+    final TemporaryFolder folder = new TemporaryFolder()
+
+    def "maps type names including nested ones to jar entries"() {
+        setup:
+        Path jar = jar('classes.jar', SourceFile, JarClassIndex.Location)
+
+        when:
+        JarClassIndex index = JarClassIndex.load([jar], null)
+
+        then:
+        index.size() == 2
+        index.jarOf(SourceFile.name).get() == jar.toAbsolutePath()
+        index.find('com.aurea.testgenerator.symbolsolver.JarClassIndex.Location').get().binaryName == JarClassIndex.Location.name
+        !index.find('com.example.Missing').present
+    }
+
+    def "first jar wins for duplicate types"() {
+        setup:
+        Path first = jar('first.jar', SourceFile)
+        Path second = jar('second.jar', SourceFile)
+
+        expect:
+        JarClassIndex.load([first, second], null).jarOf(SourceFile.name).get() == first.toAbsolutePath()
+    }
+
+    def "lists only jars changed since the saved index"() {
+        setup:
+        Path indexFile = folder.root.toPath().resolve('jars.idx')
+        Path unchanged = jar('unchanged.jar', SourceFile)
+        Path changed = jar('changed.jar', JarClassIndex)
+        JarClassIndex.load([unchanged, changed], indexFile)
+
+        when:
+        Files.setLastModifiedTime(changed, FileTime.fromMillis(Files.getLastModifiedTime(changed).toMillis() + 1000))
+        JarClassIndex index = JarClassIndex.load([unchanged, changed], indexFile)
+
+        then:
+        index.rescanned == 1
+        index.size() == 2
+        JarClassIndex.load([unchanged, changed], indexFile).rescanned == 0
+    }
+
+    def "solves types lazily from the indexed jars"() {
+        setup:
+        IndexedJarTypeSolver jarSolver = new IndexedJarTypeSolver(JarClassIndex.load([jar('classes.jar', SourceFile)], null))
+        new CombinedTypeSolver(new ReflectionTypeSolver(), jarSolver)
+
+        expect:
+        jarSolver.tryToSolveType(SourceFile.name).correspondingDeclaration.qualifiedName == SourceFile.name
+        !jarSolver.tryToSolveType('com.example.Missing').solved
+    }
+
+    private Path jar(String name, Class... classes) {
+        Path jar = folder.root.toPath().resolve(name)
+        new ZipOutputStream(Files.newOutputStream(jar)).withCloseable { out ->
+            classes.each { Class type ->
+                String entry = type.name.replace('.', '/') + '.class'
+                out.putNextEntry(new ZipEntry(entry))
+                out << type.getResourceAsStream('/' + entry)
+                out.closeEntry()
+            }
+        }
+        jar
+    }
+}
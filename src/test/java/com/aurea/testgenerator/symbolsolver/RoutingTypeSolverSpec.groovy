@@ -0,0 +1,74 @@
+package com.aurea.testgenerator.symbolsolver
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver
+import spock.lang.Specification
+
+class RoutingTypeSolverSpec extends Specification {
+
+    TypeSolver jre = Mock()
+    TypeSolver sources = Mock()
+    TypeSolver jars = Mock()
+    RoutingTypeSolver solver = new RoutingTypeSolver()
+            .add(jre, RoutingTypeSolver.JRE_PACKAGES)
+            .add(sources, ['org.example', ''])
+            .add(jars, ['org.example', 'com.lib'])
+
+    def "asks only the solvers registered for the package of a name"() {
+        when:
+        SymbolReference reference = solver.tryToSolveType('java.util.Map.Entry')
+
+        then:
+        1 * jre.tryToSolveType('java.util.Map.Entry') >> solved()
+        0 * sources.tryToSolveType(_)
+        0 * jars.tryToSolveType(_)
+        reference.solved
+    }
+
+    def "asks solvers sharing a package in registration order"() {
+        when:
+        SymbolReference reference = solver.tryToSolveType('org.example.Foo')
+
+        then:
+        1 * sources.tryToSolveType('org.example.Foo') >> unsolved()
+
+        then:
+        1 * jars.tryToSolveType('org.example.Foo') >> solved()
+        0 * jre.tryToSolveType(_)
+        reference.solved
+    }
+
+    def "routes simple names to the default package"() {
+        when:
+        solver.tryToSolveType('Foo')
+
+        then:
+        1 * sources.tryToSolveType('Foo') >> unsolved()
+        0 * jre.tryToSolveType(_)
+        0 * jars.tryToSolveType(_)
+    }
+
+    def "remembers names no solver knows"() {
+        when:
+        SymbolReference first = solver.tryToSolveType('com.lib.Missing')
+        SymbolReference second = solver.tryToSolveType('com.lib.Missing')
+        SymbolReference unrouted = solver.tryToSolveType('net.other.Type')
+
+        then:
+        1 * jars.tryToSolveType('com.lib.Missing') >> unsolved()
+        0 * jre.tryToSolveType(_)
+        0 * sources.tryToSolveType(_)
+        !first.solved && !second.solved && !unrouted.solved
+        solver.negativeHits == 1
+        solver.solverCalls == 1
+    }
+
+    private SymbolReference<ResolvedReferenceTypeDeclaration> solved() {
+        SymbolReference.solved(Mock(ResolvedReferenceTypeDeclaration))
+    }
+
+    private static SymbolReference<ResolvedReferenceTypeDeclaration> unsolved() {
+        SymbolReference.unsolved(ResolvedReferenceTypeDeclaration)
+    }
+}